@@ -0,0 +1,124 @@
+package simplechessbenchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import offlinechess.ChessBoard;
+import offlinechess.GameStatus;
+import offlinechess.Move;
+import offlinechess.MoveList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks how much a ply allocates, played the way the server plays 
+ * one: a move followed by {@link ChessBoard#gameStatus()}. The plies are 
+ * those of random games, a new one starting whenever one ends.<br>
+ * {@link #copiedPly()} first copies the board, as every ply did when 
+ * moving a piece cloned the board, and {@link #ply()} plays on the board 
+ * itself; the GC profiler's gc.alloc.rate.norm gives the bytes of each, 
+ * before and after.
+ * @author Jed Wang
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class AllocationBenchmark {
+    /**
+     * The most plies to play per game
+     */
+    private static final int MAX_PLIES = 200;
+    
+    /**
+     * The starting position, which the benchmarks do not change
+     */
+    private ChessBoard start;
+    
+    /**
+     * The game being played
+     */
+    private ChessBoard board;
+    
+    /**
+     * How many plies the game being played has had
+     */
+    private int plies;
+    
+    /**
+     * Picks the moves
+     */
+    private Random random;
+    
+    /**
+     * Sets up the first game
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        start = new ChessBoard();
+        start.recalculateMoves();
+        board = new ChessBoard(start);
+        plies = 0;
+        random = new Random(12345);
+    }
+    
+    /**
+     * Copies the board
+     * @return the copy
+     */
+    @Benchmark
+    public ChessBoard copy() {
+        return new ChessBoard(board);
+    }
+    
+    /**
+     * Plays a ply on the board itself
+     * @return how the game stands after the ply
+     */
+    @Benchmark
+    public GameStatus ply() {
+        return play();
+    }
+    
+    /**
+     * Copies the board, then plays a ply on the copy
+     * @return how the game stands after the ply
+     */
+    @Benchmark
+    public GameStatus copiedPly() {
+        board = new ChessBoard(board);
+        return play();
+    }
+    
+    /**
+     * Plays a random move and looks for the end of the game, starting a 
+     * new game if it is over
+     * @return how the game stands after the move
+     */
+    private GameStatus play() {
+        MoveList moves = board.getLegalMoves();
+        int move = moves.get(random.nextInt(moves.size()));
+        if(Move.promotion(move) != 0) {
+            board.promotePiece(Move.fromSquare(move), Move.toSquare(move), 
+                    Move.promotion(move));
+        } else {
+            board.movePiece(Move.fromSquare(move), Move.toSquare(move));
+        }
+        GameStatus status = board.gameStatus();
+        if(status.isOver() || ++plies == MAX_PLIES) {
+            board.copyFrom(start);
+            plies = 0;
+        }
+        return status;
+    }
+}
\ No newline at end of file
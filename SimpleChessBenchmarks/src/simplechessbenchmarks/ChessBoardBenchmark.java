@@ -0,0 +1,156 @@
+package simplechessbenchmarks;
+
+import java.util.concurrent.TimeUnit;
+import offlinechess.ChessBoard;
+import offlinechess.Evaluation;
+import offlinechess.Move;
+import offlinechess.MoveRecorder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the hot paths of the board: generating moves, looking for 
+ * checks and draws, scoring the position, writing a FEN, making a move 
+ * the way the server makes one and recording it.<br>
+ * The benchmarks that make a move first copy the position onto a scratch 
+ * board; {@link #copyFrom()} measures that copy alone.
+ * @author Jed Wang
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ChessBoardBenchmark {
+    /**
+     * Which phase of the game to run on
+     */
+    @Param({"opening", "middlegame", "endgame"})
+    public String phase;
+    
+    /**
+     * The position, which the benchmarks do not change
+     */
+    private ChessBoard position;
+    
+    /**
+     * The position after the move
+     */
+    private ChessBoard after;
+    
+    /**
+     * A board to make moves on
+     */
+    private ChessBoard scratch;
+    
+    /**
+     * The move to make
+     */
+    private int fromWhere, toWhere;
+    
+    /**
+     * Sets up the position and picks the move to make
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        position = Positions.of(phase);
+        int move = Positions.firstMove(position, false);
+        fromWhere = Move.fromSquare(move);
+        toWhere = Move.toSquare(move);
+        after = new ChessBoard(position);
+        after.makeMove(fromWhere, toWhere);
+        scratch = new ChessBoard(position);
+    }
+    
+    /**
+     * Generates every legal move
+     * @return the moves
+     */
+    @Benchmark
+    public Object recalculateMoves() {
+        position.recalculateMoves();
+        return position.getLegalMoves();
+    }
+    
+    /**
+     * Determines whether the side to move is in check
+     * @return whether it is
+     */
+    @Benchmark
+    public boolean inCheck() {
+        return position.inCheck(position.currentPlayer());
+    }
+    
+    /**
+     * Determines whether neither side can mate
+     * @return whether neither can
+     */
+    @Benchmark
+    public boolean insufficientMaterial() {
+        return position.insufficientMaterial();
+    }
+    
+    /**
+     * Scores the position without looking ahead
+     * @return the score
+     */
+    @Benchmark
+    public int evaluate() {
+        return Evaluation.evaluate(position);
+    }
+    
+    /**
+     * Writes where the pieces are
+     * @return the miniature
+     */
+    @Benchmark
+    public String miniFEN() {
+        return position.miniFEN();
+    }
+    
+    /**
+     * Copies the position onto the scratch board, the baseline of 
+     * {@link #movePiece()}
+     * @return the scratch board
+     */
+    @Benchmark
+    public ChessBoard copyFrom() {
+        scratch.copyFrom(position);
+        return scratch;
+    }
+    
+    /**
+     * Makes a move the way the server does, with the move written down and 
+     * the moves of the other side generated
+     * @return the board after the move
+     */
+    @Benchmark
+    public ChessBoard movePiece() {
+        scratch.copyFrom(position);
+        scratch.movePiece(fromWhere, toWhere);
+        return scratch;
+    }
+    
+    /**
+     * Writes down a move. Only the move itself is kept; writing it in 
+     * algebraic notation is measured by {@link MoveRecorderBenchmark}.
+     * @return the MoveRecorder holding the move
+     */
+    @Benchmark
+    public MoveRecorder moved() {
+        MoveRecorder mr = new MoveRecorder();
+        mr.moved(position, after, fromWhere, toWhere);
+        return mr;
+    }
+}
\ No newline at end of file
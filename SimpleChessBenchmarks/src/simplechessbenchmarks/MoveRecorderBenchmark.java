@@ -0,0 +1,63 @@
+package simplechessbenchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import offlinechess.MoveRecorder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks writing a whole game in algebraic notation.<br>
+ * A MoveRecorder only keeps the moves themselves and works out their 
+ * notation when it is asked for, so this is where notation costs 
+ * something; {@link ChessBoardBenchmark#moved()} measures recording a 
+ * single move.
+ * @author Jed Wang
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class MoveRecorderBenchmark {
+    /**
+     * The moves of a whole game
+     */
+    private MoveRecorder game;
+    
+    /**
+     * Writes down the game
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        game = Positions.game();
+    }
+    
+    /**
+     * Writes the game as a PGN
+     * @return the PGN
+     */
+    @Benchmark
+    public String toPGN() {
+        return game.toString();
+    }
+    
+    /**
+     * Writes every move of the game in algebraic notation
+     * @return the moves
+     */
+    @Benchmark
+    public ArrayList<String> getMoves() {
+        return game.getMoves();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+package simplechessbenchmarks;
+
+import offlinechess.ChessBoard;
+import offlinechess.Move;
+import offlinechess.MoveList;
+import offlinechess.MoveRecorder;
+
+/**
+ * The positions the benchmarks are run on, one for each phase of a game.
+ * @author Jed Wang
+ */
+final class Positions {
+    /**
+     * The phases of a game, in the order of {@link #FENS}
+     */
+    private static final String[] PHASES = {"opening", "middlegame", "endgame"};
+    
+    /**
+     * The positions: a Ruy Lopez, Kiwipete and a rook endgame
+     */
+    private static final String[] FENS = {
+        "r1bqkbnr/1ppp1ppp/p1n5/1B2p3/4P3/5N2/PPPP1PPP/RNBQK2R w KQkq - 0 4", 
+        "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", 
+        "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1"
+    };
+    
+    /**
+     * Positions where a pawn can promote, in the same phases
+     */
+    private static final String[] PROMOTION_FENS = {
+        "rnbqkbnr/pPpppppp/8/8/8/8/P1PPPPPP/RNBQKBNR w KQkq - 0 5", 
+        "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", 
+        "4k3/1P6/8/8/8/8/K7/8 w - - 0 1"
+    };
+    
+    /**
+     * A whole game to write down: Fischer - Spassky, Reykjavik 1972, 
+     * game 6
+     */
+    private static final String GAME = "c4 e6 Nf3 d5 d4 Nf6 Nc3 Be7 Bg5 O-O e3 h6 " + 
+            "Bh4 b6 cxd5 Nxd5 Bxe7 Qxe7 Nxd5 exd5 Rc1 Be6 Qa4 c5 Qa3 Rc8 " + 
+            "Bb5 a6 dxc5 bxc5 O-O Ra7 Be2 Nd7 Nd4 Qf8 Nxe6 fxe6 e4 d4 f4 Qe7 " + 
+            "e5 Rb8 Bc4 Kh8 Qh3 Nf8 b3 a5 f5 exf5 Rxf5 Nh7 Rcf1 Qd8 Qg3 Re7 " + 
+            "h4 Rbb7 e6 Rbc7 Qe5 Qe8 a4 Qd8 R1f2 Qe8 R2f3 Qd8 Bd3 Qe8 Qe4 Nf6 " + 
+            "Rxf6 gxf6 Rxf6 Kg8 Bc4 Kh8 Qf4";
+    
+    /**
+     * No instances
+     */
+    private Positions() {
+    }
+    
+    /**
+     * Returns the position of a phase of the game
+     * @param phase "opening", "middlegame" or "endgame"
+     * @return a new board set to that position
+     */
+    static ChessBoard of(String phase) {
+        return new ChessBoard(FENS[indexOf(phase)]);
+    }
+    
+    /**
+     * Returns a position of a phase of the game where a pawn can promote
+     * @param phase "opening", "middlegame" or "endgame"
+     * @return a new board set to that position
+     */
+    static ChessBoard withPromotion(String phase) {
+        return new ChessBoard(PROMOTION_FENS[indexOf(phase)]);
+    }
+    
+    /**
+     * Plays a whole game, writing down every move
+     * @return a MoveRecorder holding the moves of the game
+     */
+    static MoveRecorder game() {
+        ChessBoard cb = new ChessBoard();
+        MoveRecorder mr = new MoveRecorder();
+        MoveList moves = new MoveList();
+        for(String san : GAME.split(" ")) {
+            moves.clear();
+            cb.generateMoves(moves);
+            int found = 0;
+            for(int i = 0; i < moves.size() && found == 0; i++) {
+                int move = moves.get(i), promotion = Move.promotion(move);
+                String notation = mr.notate(cb, Move.fromSquare(move), Move.toSquare(move), 
+                        (promotion == 0)?MoveRecorder.QUEEN:promotion);
+                if(notation.equals(san)) found = move;
+            }
+            if(found == 0) throw new IllegalArgumentException("No move " + san + " in " + cb.toFEN());
+            cb.makeMove(found);
+            mr.record(found, cb);
+        }
+        return mr;
+    }
+    
+    /**
+     * Finds which phase of the game is which
+     * @param phase "opening", "middlegame" or "endgame"
+     * @return the index of the phase
+     */
+    private static int indexOf(String phase) {
+        for(int i = 0; i < PHASES.length; i++) {
+            if(PHASES[i].equals(phase)) return i;
+        }
+        throw new IllegalArgumentException("Unknown phase: " + phase);
+    }
+    
+    /**
+     * Finds the first legal move of the side to move that either is or is 
+     * not a promotion
+     * @param cb the position
+     * @param promotion whether to look for a promotion
+     * @return the move, packed as in {@link Move}
+     */
+    static int firstMove(ChessBoard cb, boolean promotion) {
+        cb.recalculateMoves();
+        MoveList moves = cb.getLegalMoves();
+        for(int i = 0; i < moves.size(); i++) {
+            if((Move.promotion(moves.get(i)) != 0) == promotion) return moves.get(i);
+        }
+        throw new IllegalArgumentException("No such move in " + cb.toFEN());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package simplechessbenchmarks;
+
+import java.util.concurrent.TimeUnit;
+import offlinechess.ChessBoard;
+import offlinechess.Move;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks promoting a pawn the way the server does.<br>
+ * The positions are those of {@link ChessBoardBenchmark} with a pawn that 
+ * can promote, since few real positions have one.
+ * @author Jed Wang
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class PromotionBenchmark {
+    /**
+     * Which phase of the game to run on
+     */
+    @Param({"opening", "middlegame", "endgame"})
+    public String phase;
+    
+    /**
+     * The position, which the benchmark does not change
+     */
+    private ChessBoard position;
+    
+    /**
+     * A board to promote on
+     */
+    private ChessBoard scratch;
+    
+    /**
+     * The promotion to make
+     */
+    private int fromWhere, toWhere, toWhatPiece;
+    
+    /**
+     * Sets up the position and picks the promotion to make
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        position = Positions.withPromotion(phase);
+        int move = Positions.firstMove(position, true);
+        fromWhere = Move.fromSquare(move);
+        toWhere = Move.toSquare(move);
+        toWhatPiece = Move.promotion(move);
+        scratch = new ChessBoard(position);
+    }
+    
+    /**
+     * Promotes a pawn the way the server does, with the move written down 
+     * and the moves of the other side generated
+     * @return the board after the promotion
+     */
+    @Benchmark
+    public ChessBoard promotePiece() {
+        scratch.copyFrom(position);
+        scratch.promotePiece(fromWhere, toWhere, toWhatPiece);
+        return scratch;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package simplechessbenchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks of the rules engine and saves the results as 
+ * JSON, so that runs of different versions can be compared.<br>
+ * Building needs a NetBeans library named JMH holding jmh-core and 
+ * jmh-generator-annprocess; the annotation processor writes the list of 
+ * benchmarks into the build. Every benchmark reports both throughput and 
+ * average time, along with how fast it allocates.<br>
+ * Run with <code>ant run</code>, or 
+ * <code>java -jar dist/SimpleChessBenchmarks.jar [result file] [regex]</code>
+ * @author Jed Wang
+ */
+public class SimpleChessBenchmarksMain {
+    /**
+     * Runs the benchmarks
+     * @param args optionally where to save the results, which is 
+     * jmh-result.json if left out, and a regular expression choosing which 
+     * benchmarks to run
+     * @throws RunnerException if a benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        String result = (args.length > 0)?args[0]:"jmh-result.json";
+        String include = (args.length > 1)?args[1]: 
+                SimpleChessBenchmarksMain.class.getPackage().getName() + "\\..*";
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result)
+                .build();
+        new Runner(options).run();
+        System.out.println("Results saved to " + result);
+    }
+}
\ No newline at end of file
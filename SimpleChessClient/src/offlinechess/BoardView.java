@@ -0,0 +1,813 @@
+package offlinechess;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.RadialGradientPaint;
+import java.awt.RenderingHints;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+
+/**
+ * A class that draws a chess board and lets the player make moves on it.<br>
+ * The rules all come from the {@link ChessBoard} in the core module; this 
+ * class only keeps track of what is selected, dragged and shown.
+ * @author Jed Wang
+ */
+public class BoardView {
+    /**
+     * The chess board
+     */
+    private final ChessBoard cb;
+    
+    /**
+     * Coordinates of the top left corner
+     */
+    private int x, y;
+    
+    /**
+     * The selected square
+     */
+    private int selected = -1;
+    
+    /**
+     * Which column the pawn is to be promoting.<br>
+     * -1 stands for no promotion<br>
+     * Controls the promotion dialog
+     */
+    private int promotion = -1;
+    
+    /**
+     * The last move by a piece.<br>
+     * Controls drawing the last move
+     */
+    private int lastMoveFrom = -1, lastMoveTo = -1;
+    
+    /**
+     * The last move before the one made from this side of the board, to 
+     * draw again if that move is taken back
+     */
+    private int previousMoveFrom = -1, previousMoveTo = -1;
+    
+    /**
+     * The piece's square to be dragging from.<br>
+     * Controls dragging pieces
+     */
+    private int draggingFrom = -1;
+    
+    /**
+     * A piece's square to be dragging from<br>
+     * Controls dragging pieces
+     */
+    private int fakeDraggingFrom = -1;
+    
+    /**
+     * The last known non-null point the mouse was at.<br>
+     * Controls dragging pieces
+     */
+    private Point lastPoint;
+    
+    /**
+     * The square a pawn is promoting from<br>
+     * Controls promotion
+     */
+    private int promotingFrom = -1;
+    
+    /**
+     * From which perspective the board is to be drawn
+     */
+    private boolean fromPerspective = true;
+    
+    /**
+     * The action listeners for moves and promotions
+     */
+    private ArrayList<ActionListener> listeners;
+    
+    /**
+     * Whether moves are allowed to be made
+     */
+    private boolean locked = false;
+    
+    /**
+     * The size of the individual chess squares
+     */
+    public static final int SQUARE_SIZE = 64; // change to 64 soon
+    
+    /**
+     * The offset to the center needed for a 13-diameter circle
+     */
+    public static final int CENTER_OFFSET = (SQUARE_SIZE-13)/2;
+    
+    /**
+     * The sizes of the triangles that surround a piece that can be captured
+     */
+    public static final int TRIANGLE_SIZE = (int) ((11.0/51)*SQUARE_SIZE);
+    
+    /**
+     * The size of the text
+     */
+    public static final int TEXT_SIZE = 12;
+    
+    /**
+     * Default constructor.
+     */
+    public BoardView() {
+        cb = new ChessBoard();
+        listeners = new ArrayList<>();
+        x = 0;
+        y = 0;
+        lastPoint = ChessPanel.getMouseCoordinates();
+    }
+    
+    /**
+     * Constructor with coordinates
+     * @param x x of the top left corner
+     * @param y y of the top left corner
+     */
+    public BoardView(int x, int y) {
+        this();
+        this.x = x;
+        this.y = y;
+    }
+    
+    /**
+     * Draws the current state of the chess board
+     * @param g Graphics to draw on
+     */
+    public void draw(Graphics g) {
+        Point temp = ChessPanel.getMouseCoordinates();
+        if(temp != null) 
+            lastPoint = temp;
+        
+        Graphics2D g2D = (Graphics2D) g;
+        g2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        
+        drawCheckers(g2D);
+        drawCheck(g2D);
+        drawSelection(g2D);
+        drawPieces(g2D);
+        drawDraggedPiece(g2D);
+        drawPromotions(g2D);
+    }
+    
+    /**
+     * Draws the checkered pattern
+     * @param g2D Graphics2D to draw on
+     */
+    private void drawCheckers(Graphics2D g2D) {
+        g2D.setColor(new Color(181, 136, 99));
+        g2D.fillRect(x, y, 8*SQUARE_SIZE, 8*SQUARE_SIZE);
+        g2D.setColor(new Color(240, 217, 181));
+        for(int i = x;i<8*SQUARE_SIZE+x;i+=SQUARE_SIZE*2) {
+            for(int j = y;j<8*SQUARE_SIZE+y;j+=SQUARE_SIZE*2) {
+                g2D.fillRect(i, j, SQUARE_SIZE, SQUARE_SIZE);
+                g2D.fillRect(i+SQUARE_SIZE, j+SQUARE_SIZE, SQUARE_SIZE, SQUARE_SIZE);
+            }
+        }
+        g2D.setColor(new Color(155, 199, 0, 105));
+        if(lastMoveFrom != -1) {
+            if(fromPerspective) {
+                g2D.fillRect((lastMoveFrom/10)*SQUARE_SIZE+x, 
+                        (lastMoveFrom%10)*SQUARE_SIZE+y, 
+                        SQUARE_SIZE, SQUARE_SIZE);
+            } else {
+                g2D.fillRect((7-lastMoveFrom/10)*SQUARE_SIZE+x, 
+                        (7-lastMoveFrom%10)*SQUARE_SIZE+y, 
+                        SQUARE_SIZE, SQUARE_SIZE);
+            }
+        }
+        if(lastMoveTo != -1) {
+            if(fromPerspective) {
+                g2D.fillRect((lastMoveTo/10)*SQUARE_SIZE+x, 
+                        (lastMoveTo%10)*SQUARE_SIZE+y, 
+                        SQUARE_SIZE, SQUARE_SIZE);
+            } else {
+                g2D.fillRect((7-lastMoveTo/10)*SQUARE_SIZE+x, 
+                        (7-lastMoveTo%10)*SQUARE_SIZE+y, 
+                        SQUARE_SIZE, SQUARE_SIZE);
+            }
+        }
+        
+        g2D.setPaint(Color.BLACK);
+        g2D.setFont(new Font("Century Gothic", 0, 12)); // NOI18N
+        if(fromPerspective) {
+            for (int i = 0; i < 8; i++) {
+                g2D.drawString((char) ('a' + i) + "",
+                        SQUARE_SIZE * i + (SQUARE_SIZE / 2) - 3 + x, SQUARE_SIZE * 8 + 12 + y);
+                g2D.drawString((8 - i) + "", SQUARE_SIZE * 8 + 3 + x,
+                        SQUARE_SIZE * i + (SQUARE_SIZE / 2) + 6 + y);
+            }
+        } else {
+            for (int i = 0; i < 8; i++) {
+                g2D.drawString((char) ('a' + 7 - i) + "",
+                        SQUARE_SIZE * i + (SQUARE_SIZE / 2) - 3 + x, SQUARE_SIZE * 8 + 12 + y);
+                g2D.drawString((i + 1) + "", SQUARE_SIZE * 8 + 3 + x,
+                        SQUARE_SIZE * i + (SQUARE_SIZE / 2) + 6 + y);
+            }
+        }
+    }
+    
+    /**
+     * Draws the pieces on the board.
+     * @param g2D Graphics2D to draw on
+     */
+    private void drawPieces(Graphics2D g2D) {
+        for(int i = 0; i < 8; ++i) {
+            for(int j = 0; j < 8; ++j) {
+                AbstractPiece ap = cb.getPiece(i, j);
+                if(ap == null) continue;
+                int drawX = (fromPerspective)?i:7-i, 
+                        drawY = (fromPerspective)?j:7-j;
+                drawX = (drawX * SQUARE_SIZE) + 7 + x;
+                drawY = (drawY * SQUARE_SIZE) + 7 + y;
+                if(ChessBoard.toSquare(i, j) == draggingFrom || 
+                        ChessBoard.toSquare(i, j) == fakeDraggingFrom) {
+                    PieceImages.drawGhost(g2D, ap, drawX, drawY, 50, 50);
+                } else {
+                    PieceImages.draw(g2D, ap, drawX, drawY, 50, 50);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Draws the selected pieces
+     * @param g2D Graphics2D to draw on
+     */
+    private void drawSelection(Graphics2D g2D) {
+        int selection;
+        if(draggingFrom == -1) {
+            if(selected == -1) {
+                return;
+            } else selection = selected;
+        } else selection = draggingFrom;
+        AbstractPiece selectedPiece = cb.getPiece(selection);
+        if(selectedPiece == null || selectedPiece.isWhite != cb.currentPlayer()) return;
+        long moves = cb.getLegalTargets(selection);
+        Color moveDest = new Color(20, 85, 30, 77);
+        g2D.setColor(moveDest);
+        final Point p = ChessPanel.getMouseCoordinates();
+        //System.out.println((p == null)?"null":"(" + p.x + ", " + p.y + ")");
+        for(; moves != 0; moves &= moves - 1) {
+            int s = Bitboards.toSquare(Bitboards.first(moves));
+            int x1 = s/10, y1 = s%10;
+            int x2 = x1, y2 = y1;
+            if(!fromPerspective) {
+                x2 = 7 - x1;
+                y2 = 7 - y1;
+            }
+            
+            if(p != null) {
+                if(cb.isEmptySquare(x1, y1) && 
+                        (p.x >= x+x2*SQUARE_SIZE && p.x <= x+x2*SQUARE_SIZE+SQUARE_SIZE) && 
+                        (p.y >= y+y2*SQUARE_SIZE && p.y <= y+y2*SQUARE_SIZE+SQUARE_SIZE)) {
+                    g2D.fillRect(x+x2*SQUARE_SIZE, y+y2*SQUARE_SIZE, SQUARE_SIZE, SQUARE_SIZE);
+                    continue;
+                }
+            }
+            if(cb.isEmptySquare(x1, y1)) {
+                g2D.fillOval(x+x2*SQUARE_SIZE+CENTER_OFFSET, y+y2*SQUARE_SIZE+CENTER_OFFSET, 14, 14);
+            } else {
+                /*
+                1___2
+                 | |
+                4---3
+                */
+                Point one = new Point(x+x2*SQUARE_SIZE, y+y2*SQUARE_SIZE), 
+                        two = new Point(x+x2*SQUARE_SIZE + SQUARE_SIZE, y+y2*SQUARE_SIZE), 
+                        three = new Point(x+x2*SQUARE_SIZE + SQUARE_SIZE, y+y2*SQUARE_SIZE + SQUARE_SIZE), 
+                        four = new Point(x+x2*SQUARE_SIZE, y+y2*SQUARE_SIZE + SQUARE_SIZE);
+                
+                g2D.fillPolygon(new int[]{one.x, one.x, one.x+TRIANGLE_SIZE}, 
+                        new int[]{one.y, one.y+TRIANGLE_SIZE, one.y}, 3); // 1
+                g2D.fillPolygon(new int[]{two.x, two.x, two.x-TRIANGLE_SIZE}, 
+                        new int[]{two.y, two.y+TRIANGLE_SIZE, two.y}, 3); // 2
+                g2D.fillPolygon(new int[]{three.x, three.x, three.x-TRIANGLE_SIZE}, 
+                        new int[]{three.y, three.y-TRIANGLE_SIZE, three.y}, 3); // 3
+                g2D.fillPolygon(new int[]{four.x, four.x, four.x+TRIANGLE_SIZE}, 
+                        new int[]{four.y, four.y-TRIANGLE_SIZE, four.y}, 3); // 4
+            }
+        }
+        Color selectionColor = new Color(20, 85, 30, 128);
+        g2D.setColor(selectionColor);
+        if(fromPerspective) {
+            g2D.fillRect(x+(selection/10)*SQUARE_SIZE, 
+                    y+(selection%10)*SQUARE_SIZE, SQUARE_SIZE, SQUARE_SIZE);
+        } else {
+            g2D.fillRect(x+(7-selection/10)*SQUARE_SIZE, 
+                    y+(7-selection%10)*SQUARE_SIZE, SQUARE_SIZE, SQUARE_SIZE);
+        }
+    }
+    
+    /**
+     * Draws the promotion choice box
+     * @param g2D the Graphics to draw on
+     */
+    private void drawPromotions(Graphics2D g2D) {
+        if(promotion != -1) {
+            boolean playerIsWhite = cb.currentPlayer();
+            g2D.setColor(new Color(250, 250, 250, (int) (255*0.7)));
+            g2D.fillRect(x, y, (8*SQUARE_SIZE)+x, (8*SQUARE_SIZE)+y);
+            Color inside = new Color(176, 176, 176);
+            Color outsideNH = new Color(128, 128, 128);
+            Color outsideH = new Color(216, 80, 0);
+            BufferedImage[] promotions = new BufferedImage[]{
+                PieceImages.getImage(MoveRecorder.QUEEN, playerIsWhite), 
+                PieceImages.getImage(MoveRecorder.ROOK, playerIsWhite), 
+                PieceImages.getImage(MoveRecorder.BISHOP, playerIsWhite), 
+                PieceImages.getImage(MoveRecorder.KNIGHT, playerIsWhite)
+            };
+            int col = (fromPerspective)?promotion:7-promotion;
+            if(ChessPanel.getMouseCoordinates() == null) {
+                if(playerIsWhite ^ fromPerspective) {
+                    for(int i = 7; i >= 4; i--) {
+                        g2D.setPaint(new RadialGradientPaint((SQUARE_SIZE/2) + (col*SQUARE_SIZE)+x, (SQUARE_SIZE/2) + (SQUARE_SIZE * i)+y, 57, new float[]{0F, 1.0F}, new Color[]{inside, outsideNH}));
+                        g2D.fill(new Ellipse2D.Double(col*SQUARE_SIZE+x, SQUARE_SIZE * i+y, SQUARE_SIZE, SQUARE_SIZE));
+                        g2D.drawImage(promotions[7-i], (SQUARE_SIZE*col)+(SQUARE_SIZE/10)+x, (SQUARE_SIZE*i)+(SQUARE_SIZE/10)+y, (SQUARE_SIZE*4)/5, (SQUARE_SIZE*4)/5, null);
+                    }
+                } else {
+                    for(int i = 0; i <= 3; i++) {
+                        g2D.setPaint(new RadialGradientPaint((SQUARE_SIZE/2) + (col*SQUARE_SIZE)+x, (SQUARE_SIZE/2) + (SQUARE_SIZE * i)+y, 57, new float[]{0F, 1.0F}, new Color[]{inside, outsideNH}));
+                        g2D.fill(new Ellipse2D.Double(col*SQUARE_SIZE+x, SQUARE_SIZE * i+y, SQUARE_SIZE, SQUARE_SIZE));
+                        g2D.drawImage(promotions[i], (SQUARE_SIZE*col)+(SQUARE_SIZE/10)+x, (SQUARE_SIZE*i)+(SQUARE_SIZE/10)+y, (SQUARE_SIZE*4)/5, (SQUARE_SIZE*4)/5, null);
+                    }
+                }
+            } else {
+                Point mouse = new Point((ChessPanel.getMouseCoordinates().x-x)/60, (ChessPanel.getMouseCoordinates().y-y)/60);
+                if(playerIsWhite ^ fromPerspective) {
+                    for(int i = 7; i >= 4; i--) {
+                        if(mouse.x == col && mouse.y == i) {
+                            g2D.setPaint(
+                                    new RadialGradientPaint(
+                                            (SQUARE_SIZE/2) + (col*SQUARE_SIZE)+x,
+                                            (SQUARE_SIZE/2) + (SQUARE_SIZE * i)+y, 52,
+                                            new float[]{0F, 1.0F}, 
+                                            new Color[]{inside, outsideH}
+                                    )
+                            );
+                            g2D.fill(
+                                    new Rectangle2D.Double(
+                                            col*SQUARE_SIZE+x,
+                                            SQUARE_SIZE * i+y, 
+                                            SQUARE_SIZE, SQUARE_SIZE
+                                    )
+                            );
+                            g2D.drawImage(
+                                    promotions[7-i], SQUARE_SIZE*col+5+x, 
+                                    SQUARE_SIZE*i+5+y, 50, 50, null
+                            );
+                        } else {
+                            g2D.setPaint(
+                                    new RadialGradientPaint(
+                                            (SQUARE_SIZE/2) + (col*SQUARE_SIZE)+x,
+                                            (SQUARE_SIZE/2) + (SQUARE_SIZE * i)+y, 57,
+                                            new float[]{0F, 1.0F}, 
+                                            new Color[]{inside, outsideNH}
+                                    )
+                            );
+                            g2D.fill(
+                                    new Ellipse2D.Double(
+                                            col*SQUARE_SIZE+x,
+                                            SQUARE_SIZE * i+y, SQUARE_SIZE,
+                                            SQUARE_SIZE
+                                    )
+                            );
+                            g2D.drawImage(
+                                    promotions[7-i],
+                                    (SQUARE_SIZE*col)+(SQUARE_SIZE/10)+x,
+                                    (SQUARE_SIZE*i)+(SQUARE_SIZE/10)+y, 
+                                    (SQUARE_SIZE*4)/5, (SQUARE_SIZE*4)/5, null
+                            );
+                        }
+                    }
+                } else {
+                    for(int i = 0; i <= 3; i++) {
+                        if(mouse.x == col && mouse.y == i) {
+                            g2D.setPaint(
+                                    new RadialGradientPaint(
+                                            (SQUARE_SIZE/2) + (col*SQUARE_SIZE)+x,
+                                            (SQUARE_SIZE/2) + (SQUARE_SIZE * i)+y,
+                                            52, new float[]{0F, 1.0F}, 
+                                            new Color[]{inside, outsideH}
+                                    )
+                            );
+                            g2D.fill(
+                                    new Rectangle2D.Double(
+                                            col*SQUARE_SIZE+x,
+                                            SQUARE_SIZE * i+y, 
+                                            SQUARE_SIZE, SQUARE_SIZE
+                                    )
+                            );
+                            g2D.drawImage(
+                                    promotions[i], SQUARE_SIZE*col+5+x, 
+                                    SQUARE_SIZE*i+5+y, 50, 50, null
+                            );
+                        } else {
+                            g2D.setPaint(
+                                    new RadialGradientPaint(
+                                            (SQUARE_SIZE/2) + (col*SQUARE_SIZE)+x,
+                                            (SQUARE_SIZE/2) + (SQUARE_SIZE * i)+y, 57,
+                                            new float[]{0F, 1.0F}, 
+                                            new Color[]{inside, outsideNH}
+                                    )
+                            );
+                            g2D.fill(
+                                    new Ellipse2D.Double(
+                                            col*SQUARE_SIZE+x,
+                                            SQUARE_SIZE * i+y,
+                                            SQUARE_SIZE, SQUARE_SIZE
+                                    )
+                            );
+                            g2D.drawImage(
+                                    promotions[i],
+                                    (SQUARE_SIZE*col)+(SQUARE_SIZE/10)+x,
+                                    (SQUARE_SIZE*i)+(SQUARE_SIZE/10)+y, 
+                                    (SQUARE_SIZE*4)/5, (SQUARE_SIZE*4)/5, null
+                            );
+                        }
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Draws whether either king is in check
+     * @param g2D the Graphics2D to draw on
+     */
+    private void drawCheck(Graphics2D g2D) {
+        float[] fractions = new float[]{ 0.0f, 0.25f, 0.89f, 1.0f };
+        Color[] colors = new Color[]{
+            new Color(255, 0, 0, 255), new Color(231, 0, 0, 255), 
+            new Color(169, 0, 0, 0), new Color(158, 0, 0, 0)
+        };
+        if(cb.inCheck(cb.currentPlayer())) {
+            int kingAt = cb.getKingSquare(cb.currentPlayer());
+            int col = kingAt/10, row = kingAt%10;
+            if(!fromPerspective) {
+                col = 7 - col;
+                row = 7 - row;
+            }
+            g2D.setPaint(
+                    new RadialGradientPaint(
+                            (SQUARE_SIZE/2) + (col*SQUARE_SIZE) + x, 
+                            (SQUARE_SIZE/2) + (row*SQUARE_SIZE) + y, 
+                            SQUARE_SIZE*7/12, fractions, colors
+                    )
+            );
+            g2D.fill(
+                    new Ellipse2D.Double(
+                            col*SQUARE_SIZE + x, 
+                            row*SQUARE_SIZE + y, 
+                            SQUARE_SIZE, SQUARE_SIZE
+                    )
+            );
+        }
+    }
+    
+    /**
+     * Draws the dragged piece
+     * @param g2D the Graphics2D to draw on
+     */
+    private void drawDraggedPiece(Graphics2D g2D) {
+        if(fakeDraggingFrom != -1) {
+            int midX = lastPoint.x - (SQUARE_SIZE / 2),
+                    midY = lastPoint.y - (SQUARE_SIZE / 2);
+            PieceImages.draw(g2D, cb.getPiece(fakeDraggingFrom), midX, midY, 50, 50);
+        }
+        if(draggingFrom != -1) {
+            int midX = lastPoint.x - (SQUARE_SIZE / 2),
+                    midY = lastPoint.y - (SQUARE_SIZE / 2);
+            PieceImages.draw(g2D, cb.getPiece(draggingFrom), midX, midY, 50, 50);
+        }
+    }
+    
+    /**
+     * Moves a piece from fromWhere to toWhere, telling the listeners if the 
+     * move was made from this side of the board
+     * @param fromWhere from where a piece is moved
+     * @param toWhere where to move a piece
+     */
+    public void movePiece(int fromWhere, int toWhere) {
+        boolean own = cb.currentPlayer() == fromPerspective;
+        cb.movePiece(fromWhere, toWhere);
+        moved(fromWhere, toWhere, own);
+        if(own) notifyListeners("MOVE" + fromWhere + " " + toWhere);
+    }
+    
+    /**
+     * Promotes a pawn, telling the listeners if the promotion was made from 
+     * this side of the board
+     * @param fromWhere from where to promote
+     * @param toWhere to where to promote
+     * @param toWhatPiece to what piece to promote to
+     */
+    public void promotePiece(int fromWhere, int toWhere, int toWhatPiece) {
+        boolean own = cb.currentPlayer() == fromPerspective;
+        cb.promotePiece(fromWhere, toWhere, toWhatPiece);
+        moved(fromWhere, toWhere, own);
+        if(own) notifyListeners("PROMOTE" + fromWhere + " " + toWhere + " " + toWhatPiece);
+    }
+    
+    /**
+     * Notes the last move, to draw it
+     * @param fromWhere from where a piece was moved
+     * @param toWhere to where a piece was moved
+     * @param own whether the move was made from this side of the board
+     */
+    private void moved(int fromWhere, int toWhere, boolean own) {
+        if(own) {
+            previousMoveFrom = lastMoveFrom;
+            previousMoveTo = lastMoveTo;
+        }
+        lastMoveFrom = fromWhere;
+        lastMoveTo = toWhere;
+    }
+    
+    /**
+     * Takes back the last move if it was made from this side of the 
+     * board, such as when the server turned it down
+     * @return whether a move was taken back
+     */
+    public boolean takeBackOwnMove() {
+        // after a move from this side, it is the other side's turn
+        if(cb.currentPlayer() == fromPerspective) return false;
+        try {
+            cb.takeBackMove();
+        } catch(IllegalStateException ise) {
+            return false;
+        }
+        lastMoveFrom = previousMoveFrom;
+        lastMoveTo = previousMoveTo;
+        return true;
+    }
+    
+    /**
+     * Recalculates all of the moves of the side to move
+     */
+    public void recalculateMoves() {
+        cb.recalculateMoves();
+    }
+    
+    /**
+     * Returns the chess board being drawn
+     * @return the chess board being drawn
+     */
+    public ChessBoard getChessBoard() {
+        return cb;
+    }
+    
+    /**
+     * Notifies this that the board has been clicked on a square
+     * @param square where the board has been clicked
+     */
+    public void clicked(int square) {
+        if(locked) return;
+        boolean playerIsWhite = cb.currentPlayer();
+        if(selected == -1 && promotion == -1) {
+            if(!cb.isEmptySquare(square) && (cb.getPiece(square).isWhite == playerIsWhite && playerIsWhite == fromPerspective)) {
+                selected = square;
+            }
+        } else if(promotion != -1) {
+            if(square/10 == promotion) {
+                int promoteTo = ChessBoard.toSquare(promotion, (playerIsWhite)?0:7);
+                if(playerIsWhite) {
+                    /**
+                     * QUEEN
+                     * ROOK
+                     * BISHOP
+                     * KNIGHT
+                     */
+                    switch(square%10) {
+                        case 0:
+                            promotePiece(promotingFrom, promoteTo, MoveRecorder.QUEEN);
+                            break;
+                        case 1:
+                            promotePiece(promotingFrom, promoteTo, MoveRecorder.ROOK);
+                            break;
+                        case 2:
+                            promotePiece(promotingFrom, promoteTo, MoveRecorder.BISHOP);
+                            break;
+                        case 3:
+                            promotePiece(promotingFrom, promoteTo, MoveRecorder.KNIGHT);
+                            break;
+                    }
+                } else {
+                    switch(square%10) {
+                        case 7:
+                            promotePiece(promotingFrom, promoteTo, MoveRecorder.QUEEN);
+                            break;
+                        case 6:
+                            promotePiece(promotingFrom, promoteTo, MoveRecorder.ROOK);
+                            break;
+                        case 5:
+                            promotePiece(promotingFrom, promoteTo, MoveRecorder.BISHOP);
+                            break;
+                        case 4:
+                            promotePiece(promotingFrom, promoteTo, MoveRecorder.KNIGHT);
+                            break;
+                    }
+                }
+                promotingFrom = -1;
+                promotion = -1;
+            }
+        } else if(selected == square) {
+            selected = -1;
+        } else {
+            if(!cb.isEmptySquare(square)) {
+                if(cb.isLegalMove(selected, square)) {
+                    if(cb.getPiece(selected).getCharRepresentation().equals("P") && 
+                            (square%10 == 0 || square%10 == 7)) {
+                        promotion = square/10;
+                        promotingFrom = selected;
+                    } else {
+                        movePiece(selected, square);
+                        selected = -1;
+                    }
+                } else {
+                    if(cb.getPiece(square).isWhite == playerIsWhite) {
+                        selected = square;
+                    } else {
+                        selected = -1;
+                    }
+                }
+            } else {
+                if(cb.isLegalMove(selected, square)) {
+                    if(cb.getPiece(selected).getCharRepresentation().equals("P") && 
+                            (square%10 == 0 || square%10 == 7)) {
+                        promotion = square/10;
+                        promotingFrom = selected;
+                    } else {
+                        movePiece(selected, square);
+                        selected = -1;
+                    }
+                } else selected = -1;
+            }
+        }
+        System.out.println("selected: " + selected);
+    }
+    
+    /**
+     * Enables dragging.
+     * @param fromWhere from where the piece is being dragged 
+     */
+    public void enableDragging(int fromWhere) {
+        if(!cb.isEmptySquare(fromWhere)) 
+            if(promotion == -1 && cb.getPiece(fromWhere).isWhite == cb.currentPlayer() 
+                    && cb.currentPlayer() == fromPerspective && !locked) 
+                draggingFrom = fromWhere;
+            else
+                fakeDraggingFrom = fromWhere;
+        System.out.println("selected: " + draggingFrom);
+    }
+    
+    /**
+     * Disables dragging.
+     */
+    public void disableDragging() {
+        if(fakeDraggingFrom != -1) {
+            fakeDraggingFrom = -1;
+            return;
+        }
+        if(draggingFrom == -1) return;
+        if(!locked) {
+            int dropSquare = toPerspectiveSquare((lastPoint.x - x) / SQUARE_SIZE, 
+                    (lastPoint.y - y) / SQUARE_SIZE);
+            /*if(cb.isLegalMove(draggingFrom, dropSquare)) {
+                movePiece(draggingFrom, dropSquare);
+            }*/
+            if (cb.isLegalMove(draggingFrom, dropSquare)) {
+                if (cb.getPiece(draggingFrom).getCharRepresentation().equals("P") && 
+                        (dropSquare%10 == 0 || dropSquare%10 == 7)) {
+                    promotion = dropSquare/10;
+                    promotingFrom = draggingFrom;
+                } else {
+                    movePiece(draggingFrom, dropSquare);
+                }
+            }
+            if (draggingFrom != selected) {
+                selected = -1;
+            }
+        }
+        draggingFrom = -1;
+    }
+    
+    /**
+     * Returns how much the board was transformed in the x-axis
+     * @return how much the board was transformed in the x-axis
+     */
+    public int getX() {
+        return x;
+    }
+    
+    /**
+     * Returns how much the board was transformed in the y-axis
+     * @return how much the board was transformed in the y-axis
+     */
+    public int getY() {
+        return y;
+    }
+    
+    /**
+     * Determines from which perspective this ChessBoard is drawn
+     * @return from which perspective this ChessBoard is drawn
+     */
+    public boolean getPerspective() {
+        return fromPerspective;
+    }
+    
+    /**
+     * Determines the square being referenced from a position
+     * @param xPos the x-position of the mouse
+     * @param yPos the y-position of the mouse
+     * @return a square
+     */
+    public int toSquareFromPos(int xPos, int yPos) {
+        int x1 = (xPos - x)/SQUARE_SIZE, y1 = (yPos - y)/SQUARE_SIZE;
+        return toPerspectiveSquare(x1, y1);
+    }
+    
+    /**
+     * Determines the square being referenced in perspective
+     * @param x the x position of the square
+     * @param y the y position of the square
+     * @return the square being referenced in perspective
+     */
+    public int toPerspectiveSquare(int x, int y) {
+        int output = (fromPerspective) ? ChessBoard.toSquare(x, y) : rotateSquare180(x, y);
+        return (ChessBoard.isValidSquare(output))? output : null;
+    }
+    
+    /**
+     * Rotates a square 180 degrees.
+     * @param s the square to rotate
+     * @return the resulting square
+     */
+    public int rotateSquare180(int s) {
+        return rotateSquare180(s/10, s%10);
+    }
+    
+    /**
+     * Rotates a square 180 degrees.
+     * @param x the x position of the square to rotate
+     * @param y the y position of the square to rotate
+     * @return the resulting square
+     */
+    public int rotateSquare180(int x, int y) {
+        int output = ChessBoard.toSquare(7-x, 7-y);
+        return (ChessBoard.isValidSquare(output))? output : null;
+    }
+    
+    /**
+     * Sets the current perspective
+     * @param b the perspective to change to
+     */
+    public void setPerspective(boolean b) {
+        fromPerspective = b;
+    }
+    
+    /**
+     * Notifies all action listeners listening to this object
+     * @param message the message to give to all of the listeners
+     */
+    private void notifyListeners(String message) {
+        for(ActionListener listener : listeners) {
+            listener.actionPerformed(new ActionEvent(this, 0, message));
+        }
+    }
+    
+    /**
+     * Adds an action listener
+     * @param al the one to add
+     */
+    public void addActionListener(ActionListener al) {
+        listeners.add(al);
+    }
+    
+    /**
+     * Prints all of the current moves.
+     */
+    public void printMoves() {
+        cb.printMoves();
+    }
+    
+    /**
+     * Locks this ChessBoard, thus prohibiting moves to be made.
+     */
+    public void lock() {
+        locked = true;
+    }
+    
+    /**
+     * Unlocks this ChessBoard, thus allowing moves to be made.
+     */
+    public void unlock() {
+        locked = false;
+    }
+}
\ No newline at end of file
@@ -11,9 +11,9 @@ import javax.swing.JPanel;
 public class ChessPanel extends JPanel {
     
     /**
-     * The chessboard
+     * The chessboard, as drawn
      */
-    private ChessBoard cb;
+    private BoardView bv;
     
     /**
      * The mouse listener
@@ -34,10 +34,11 @@ public class ChessPanel extends JPanel {
      * Default constructor
      */
     public ChessPanel() {
+        PieceImages.preload();
         cml = new ChessMouseListener(this);
         _this = this;
-        cb = new ChessBoard();
-        cb.recalculateMoves();
+        bv = new BoardView();
+        bv.recalculateMoves();
         addMouseListener(cml);
         super.setVisible(true);
     }
@@ -61,7 +62,7 @@ public class ChessPanel extends JPanel {
                 new GradientPaint(0, 0, new Color(215, 215, 215), 0, 
                         getHeight(), new Color(238, 238, 238))
         );
-        cb.draw(g);
+        bv.draw(g);
     }
     
     /**
@@ -93,15 +94,15 @@ public class ChessPanel extends JPanel {
         int selected;
         switch(i) {
             case ChessMouseListener.MOUSE_CLICKED:
-                selected = cb.toSquareFromPos(me.getX(), me.getY());
-                if(ChessBoard.isValidSquare(selected)) cb.clicked(selected);
+                selected = bv.toSquareFromPos(me.getX(), me.getY());
+                if(ChessBoard.isValidSquare(selected)) bv.clicked(selected);
                 break;
             case ChessMouseListener.MOUSE_PRESSED:
-                selected = cb.toSquareFromPos(me.getX(), me.getY());
-                if(ChessBoard.isValidSquare(selected)) cb.enableDragging(selected);
+                selected = bv.toSquareFromPos(me.getX(), me.getY());
+                if(ChessBoard.isValidSquare(selected)) bv.enableDragging(selected);
                 break;
             case ChessMouseListener.MOUSE_RELEASED:
-                cb.disableDragging();
+                bv.disableDragging();
                 break;
         }
         repaint();
@@ -140,21 +141,21 @@ public class ChessPanel extends JPanel {
      */
     public void stop() {
         stop = true;
-        cb.printMoves();
+        bv.printMoves();
     }
 
     /**
-     * Returns this ChessPanel's ChessBoard
-     * @return this ChessPanel's ChessBoard
+     * Returns this ChessPanel's BoardView
+     * @return this ChessPanel's BoardView
      */
-    public ChessBoard getChessBoard() {
-        return cb;
+    public BoardView getBoardView() {
+        return bv;
     }
     
     /**
      * Resets the chess board
      */
     public void resetChessBoard() {
-        cb = new ChessBoard();
+        bv = new BoardView();
     }
 }
\ No newline at end of file
@@ -0,0 +1,163 @@
+package offlinechess;
+
+import java.awt.Graphics;
+import java.awt.GraphicsEnvironment;
+import java.awt.image.BufferedImage;
+import java.awt.image.RescaleOp;
+import java.io.IOException;
+import java.net.URL;
+import java.util.stream.IntStream;
+import javax.imageio.ImageIO;
+
+/**
+ * The images of the pieces, used by {@link BoardView} to draw them.<br>
+ * The rules engine does not know what a piece looks like; everything about
+ * drawing one lives here. The images are read from the classpath, in
+ * parallel, the first time they are needed.
+ * @author Jed Wang
+ */
+public final class PieceImages {
+    /**
+     * The names of the pieces, by the piece constants in {@link MoveRecorder}
+     */
+    private static final String[] NAMES = {
+        "Pawn", "Knight", "Bishop", "Rook", "Queen", "King"
+    };
+
+    /**
+     * The images, white pieces 0-5 and black 6-11, followed by their ghosts
+     * in the same order.<br>
+     * Not loaded until they are first needed.
+     */
+    private static volatile BufferedImage[] images = null;
+
+    /**
+     * The ghostifier
+     */
+    private static final RescaleOp ROP = new RescaleOp(
+            new float[]{1f, 1f, 1f, 0.3f}, new float[4], null);
+
+    /**
+     * No instances
+     */
+    private PieceImages() {
+    }
+
+    /**
+     * Starts loading the images in the background, so that they are most
+     * likely ready by the time the board is first drawn
+     */
+    public static void preload() {
+        if(images != null || GraphicsEnvironment.isHeadless()) return;
+        Thread loader = new Thread(PieceImages::images, "PieceImages");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Returns the images, loading them if they have not been yet
+     * @return the images, or null if there is no screen to draw them on
+     */
+    private static BufferedImage[] images() {
+        BufferedImage[] loaded = images;
+        if(loaded == null) {
+            if(GraphicsEnvironment.isHeadless()) return null;
+            synchronized(PieceImages.class) {
+                loaded = images;
+                if(loaded == null) {
+                    loaded = load();
+                    images = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Reads all of the images from the classpath, in parallel
+     * @return the images and their ghosts
+     */
+    private static BufferedImage[] load() {
+        // the images are tiny; caching them on disk costs more than it saves
+        ImageIO.setUseCache(false);
+        BufferedImage[] loaded = new BufferedImage[24];
+        IntStream.range(0, 12).parallel().forEach(i -> {
+            loaded[i] = read(((i < 6)?"true":"false") + NAMES[i % 6]);
+            if(loaded[i] != null) loaded[i + 12] = ghostify(loaded[i]);
+        });
+        return loaded;
+    }
+
+    /**
+     * Reads one image from the classpath
+     * @param name the name of the image, without the extension
+     * @return the image, or null if it cannot be read
+     */
+    private static BufferedImage read(String name) {
+        URL url = PieceImages.class.getResource("/images/" + name + ".png");
+        if(url == null) {
+            System.err.println("Could not find " + name + " image");
+            return null;
+        }
+        try {
+            return ImageIO.read(url);
+        } catch(IOException e) {
+            System.err.println("Could not read " + name + " image");
+            return null;
+        }
+    }
+
+    /**
+     * Turns the alpha of the image to 30%
+     * @param bi the BufferedImage to change
+     * @return the changed image
+     */
+    public static BufferedImage ghostify(BufferedImage bi) {
+        return ROP.filter(bi, null);
+    }
+
+    /**
+     * Returns the image of a piece
+     * @param whichPiece which piece, determined by the number
+     * @param isWhite whether the piece is white
+     * @return the image of that piece, or null if there is none
+     */
+    public static BufferedImage getImage(int whichPiece, boolean isWhite) {
+        BufferedImage[] loaded = images();
+        if(loaded == null) return null;
+        return loaded[(isWhite)?whichPiece:whichPiece + 6];
+    }
+
+    /**
+     * Draws a piece
+     * @param g the Graphics to draw on
+     * @param ap the piece to draw
+     * @param x the X coordinate of the image
+     * @param y the Y coordinate of the image
+     * @param width the width of the picture
+     * @param height the height of the picture
+     */
+    public static void draw(Graphics g, AbstractPiece ap,
+            int x, int y, int width, int height) {
+        BufferedImage image = getImage(ap.getPieceType(), ap.isWhite);
+        if(image != null) g.drawImage(image, x, y, width, height, null);
+    }
+
+    /**
+     * Draws a ghost of a piece
+     * @param g the Graphics to draw on
+     * @param ap the piece to draw
+     * @param x the X coordinate of the image
+     * @param y the Y coordinate of the image
+     * @param width the width of the picture
+     * @param height the height of the picture
+     */
+    public static void drawGhost(Graphics g, AbstractPiece ap,
+            int x, int y, int width, int height) {
+        BufferedImage[] loaded = images();
+        if(loaded == null) return;
+        int type = ap.getPieceType();
+        BufferedImage ghost = loaded[((ap.isWhite)?type:type + 6) + 12];
+        if(ghost != null) g.drawImage(ghost, x, y, width, height, null);
+    }
+}
\ No newline at end of file
@@ -20,7 +20,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
-import offlinechess.ChessBoard;
+import offlinechess.BoardView;
 import offlinechess.ChessFrame;
 
 /**
@@ -46,7 +46,7 @@ public class ServerCommunication {
     /**
      * This instance's chess board
      */
-    private ChessBoard cb;
+    private BoardView bv;
     
     /**
      * This instance's time control
@@ -63,18 +63,18 @@ public class ServerCommunication {
             Dimension screenSize = Toolkit.getDefaultToolkit().getScreenSize();
             cf.setLocation((screenSize.width - cf.getWidth())/2, 
                     (screenSize.height - cf.getHeight())/2);
-            cb = cf.getChessPanel().getChessBoard();
-            cb.addActionListener((ActionEvent e) -> {
+            bv = cf.getChessPanel().getBoardView();
+            bv.addActionListener((ActionEvent e) -> {
                 String message = e.getActionCommand();
                 if (message.startsWith("MOVE") || message.startsWith("PROMOTE")) {
-                    out.println(e.getActionCommand());
-                    System.out.println(e.getActionCommand());
                     if (tc != null) {
                         tc.hit();
                     }
+                    out.println(e.getActionCommand());
+                    System.out.println(e.getActionCommand());
                 }
             });
-            cb.lock();
+            bv.lock();
             run();
         } catch (IllegalStateException ise) {}
     }
@@ -165,16 +165,16 @@ public class ServerCommunication {
                 out.println("NEWOPPONENT");
                 System.out.println("NEWOPPONENT");
                 cf.getChessPanel().resetChessBoard();
-                cb = cf.getChessPanel().getChessBoard();
-                cb.addActionListener((ActionEvent e) -> {
+                bv = cf.getChessPanel().getBoardView();
+                bv.addActionListener((ActionEvent e) -> {
                     String message = e.getActionCommand();
                     if(message.startsWith("MOVE") || message.startsWith("PROMOTE")) {
+                        if(tc != null) tc.hit();
                         out.println(e.getActionCommand());
                         System.out.println(e.getActionCommand());
-                        if(tc != null) tc.hit();
                     }
                 });
-                cb.lock();
+                bv.lock();
             } else if(line.startsWith("STARTGAME")) {
                 // STARTGAMEside name /*timecontrolMin timecontrolSec*/ gameID
                 String[] data = line.substring(9).split(" ");
@@ -183,14 +183,14 @@ public class ServerCommunication {
                 service = Executors.newScheduledThreadPool(1);
                 service.scheduleAtFixedRate(tc, 0, 100, TimeUnit.MILLISECONDS);
                 
-                cb.setPerspective(Boolean.parseBoolean(data[0]));
+                bv.setPerspective(Boolean.parseBoolean(data[0]));
                 // data[1] will be other person's name
                 Point cfLocation = cf.getLocation();
-                GameWindows.NameAndTimeWindow youFrame = GameWindows.showNameAndTimeWindow(_name, true, tc, cb.getPerspective());
+                GameWindows.NameAndTimeWindow youFrame = GameWindows.showNameAndTimeWindow(_name, true, tc, bv.getPerspective());
                 youFrame.setLocation(cfLocation.x + 20 + cf.getWidth(), 
                         cfLocation.y + cf.getHeight() - youFrame.getHeight());
                 gameFrames.add(youFrame);
-                GameWindows.NameAndTimeWindow theirFrame = GameWindows.showNameAndTimeWindow(data[1], false, tc, !cb.getPerspective());
+                GameWindows.NameAndTimeWindow theirFrame = GameWindows.showNameAndTimeWindow(data[1], false, tc, !bv.getPerspective());
                 theirFrame.setLocation(cfLocation.x + 20 + cf.getWidth(), 
                         cfLocation.y);
                 gameFrames.add(theirFrame);
@@ -206,8 +206,8 @@ public class ServerCommunication {
                         }
                     }
                 });
-                cb.recalculateMoves();
-                cb.unlock();
+                bv.recalculateMoves();
+                bv.unlock();
             } else if(line.startsWith("ENDGAME")) {
                 for(Iterator<JFrame> it = gameFrames.iterator(); it.hasNext();) {
                     JFrame next = it.next();
@@ -219,28 +219,32 @@ public class ServerCommunication {
                 String[] data = line.substring(7).split(" ");
                 notifyResult(data[0], data[1]);
                 cf.getChessPanel().resetChessBoard();
-                cb = cf.getChessPanel().getChessBoard();
-                cb.addActionListener((ActionEvent e) -> {
+                bv = cf.getChessPanel().getBoardView();
+                bv.addActionListener((ActionEvent e) -> {
                     String message = e.getActionCommand();
                     if(message.startsWith("MOVE") || message.startsWith("PROMOTE")) {
+                        if(tc != null) tc.hit();
                         out.println(e.getActionCommand());
                         System.out.println(e.getActionCommand());
-                        if(tc != null) tc.hit();
                     }
                 });
-                cb.lock();
+                bv.lock();
                 out.println("NEWOPPONENT");
                 System.out.println("NEWOPPONENT");
             } else if(line.startsWith("MOVE")) {
                 tc.hit();
                 // MOVEfrom to
                 String[] data = line.substring(4).split(" ");
-                cb.movePiece(Integer.parseInt(data[0]), Integer.parseInt(data[1]));
+                bv.movePiece(Integer.parseInt(data[0]), Integer.parseInt(data[1]));
             } else if(line.startsWith("PROMOTE")) {
                 tc.hit();
                 // PROMOTEfrom to whatTo
                 String[] data = line.substring(7).split(" ");
-                cb.promotePiece(Integer.parseInt(data[0]), Integer.parseInt(data[1]), Integer.parseInt(data[2]));
+                bv.promotePiece(Integer.parseInt(data[0]), Integer.parseInt(data[1]), Integer.parseInt(data[2]));
+            } else if(line.startsWith("ILLEGAL")) {
+                // ILLEGALcommand, the server did not make the move, so take it back here too
+                System.err.println("Rejected by the server: " + line.substring(7));
+                if(bv.takeBackOwnMove() && tc != null) tc.takeBack();
             }
         }
     }
@@ -119,6 +119,25 @@ public class TimeControl implements Runnable {
         turn = !turn;
     }
     
+    /**
+     * Takes back the last hit of the clock, when the move it was hit for 
+     * did not count.<br>
+     * The increment is taken back; the time spent since and any grace 
+     * time used up are not given back.
+     */
+    public void takeBack() {
+        turn = !turn;
+        if(turn) {
+            synchronized(WHITE_LOCK) {
+                whiteTime -= increment;
+            }
+        } else {
+            synchronized(BLACK_LOCK) {
+                blackTime -= increment;
+            }
+        }
+    }
+    
     /**
      * Starts the clock
      */
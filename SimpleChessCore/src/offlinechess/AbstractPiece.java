@@ -0,0 +1,162 @@
+package offlinechess;
+
+import java.util.LinkedList;
+
+/**
+ * A class to represent any chess piece
+ * @author Jed Wang
+ */
+public abstract class AbstractPiece {
+    /**
+     * Whether or not the piece is white
+     */
+    public final boolean isWhite;
+    
+    /**
+     * Creates a new AbstractPiece
+     * @param isWhite whether or not the piece is white
+     */
+    protected AbstractPiece(boolean isWhite) {
+        this.isWhite = isWhite;
+    }
+    
+    /**
+     * Returns the piece of one kind and color.<br>
+     * Pieces are immutable, so there is only one of each.
+     * @param whichPiece which piece, as one of the piece constants in 
+     * {@link MoveRecorder}
+     * @param isWhite whether the piece is white
+     * @return the piece
+     */
+    public static AbstractPiece getInstance(int whichPiece, boolean isWhite) {
+        switch(whichPiece) {
+            case MoveRecorder.PAWN:
+                return Pawn.getInstance(isWhite);
+            case MoveRecorder.KNIGHT:
+                return Knight.getInstance(isWhite);
+            case MoveRecorder.BISHOP:
+                return Bishop.getInstance(isWhite);
+            case MoveRecorder.ROOK:
+                return Rook.getInstance(isWhite);
+            case MoveRecorder.QUEEN:
+                return Queen.getInstance(isWhite);
+            case MoveRecorder.KING:
+                return King.getInstance(isWhite);
+            default:
+                throw new IllegalArgumentException("Unknown piece: " + whichPiece);
+        }
+    }
+    
+    /**
+     * Determines whether a move is legal
+     * @param cb the current state of the chess game
+     * @param fromWhere the current place of the piece
+     * @param toWhere to where the piece would be moved
+     * @return whether the move would be legal
+     */
+    public boolean isLegalMove(ChessBoard cb, int fromWhere, int toWhere) {
+        if(!ChessBoard.isValidSquare(toWhere)) return false;
+        return (cb.legalTargets(fromWhere) & Bitboards.bit(Bitboards.toIndex(toWhere))) != 0;
+    }
+    
+    /**
+     * Returns all of the legal moves this piece could make
+     * @param cb the current state of the chess game
+     * @param currentPosition the current place of the piece
+     * @return all legal moves
+     */
+    public abstract LinkedList<Integer> allLegalMoves(ChessBoard cb, int currentPosition);
+    
+    /**
+      * Determines whether a move is legal <br>
+      * However, this method does not check for checks
+      * @param cb
+      * @param fromWhere
+      * @param toWhere
+      * @return 
+      */
+    public boolean isAllLegalMove(ChessBoard cb, int fromWhere, int toWhere) {
+        return allLegalMoves(cb, fromWhere).contains(toWhere);
+    }
+    
+    /**
+     * Returns all of the legal moves this piece could make, taking into account check
+     * @param cb the current state of the chess game
+     * @param currentPosition the current place of the piece
+     * @return the legal moves this piece can make
+     */
+    public LinkedList<Integer> legalMoves(ChessBoard cb, int currentPosition) {
+        return toSquares(cb.legalTargets(currentPosition));
+    }
+    
+    /**
+     * Returns all of the legal moves this piece could make as a bitboard, 
+     * without boxing
+     * @param cb the current state of the chess game
+     * @param currentPosition the current place of the piece
+     * @return a bitboard of the squares this piece can move to
+     */
+    public long legalTargets(ChessBoard cb, int currentPosition) {
+        return cb.legalTargets(currentPosition);
+    }
+    
+    /**
+     * Adds all of the legal moves this piece could make to a list, 
+     * packed as in {@link Move}
+     * @param cb the current state of the chess game
+     * @param currentPosition the current place of the piece
+     * @param output the list to add the moves to
+     */
+    public void legalMoves(ChessBoard cb, int currentPosition, MoveList output) {
+        cb.generateMoves(currentPosition, output);
+    }
+    
+    /**
+     * Returns all of the legal captures this piece could make, including 
+     * en passant, and the squares a pawn could promote on
+     * @param cb the current state of the chess game
+     * @param currentPosition the current place of the piece
+     * @return all legal captures
+     */
+    public LinkedList<Integer> legalCaptures(ChessBoard cb, int currentPosition) {
+        return toSquares(cb.legalCaptureTargets(currentPosition));
+    }
+    
+    /**
+     * Adds all of the legal captures and promotions this piece could make 
+     * to a list, packed as in {@link Move}
+     * @param cb the current state of the chess game
+     * @param currentPosition the current place of the piece
+     * @param output the list to add the moves to
+     */
+    public void legalCaptures(ChessBoard cb, int currentPosition, MoveList output) {
+        cb.generateCaptures(currentPosition, output);
+    }
+    
+    /**
+     * Turns a bitboard into a list of squares
+     * @param targets the bitboard to convert
+     * @return the squares that are set in the bitboard
+     */
+    protected static LinkedList<Integer> toSquares(long targets) {
+        LinkedList<Integer> output = new LinkedList<>();
+        while(targets != 0) {
+            output.add(Bitboards.toSquare(Bitboards.first(targets)));
+            targets &= targets - 1;
+        }
+        return output;
+    }
+    
+    /**
+     * Returns the character that represents this piece
+     * @return the character that represents this piece
+     */
+    public abstract String getCharRepresentation();
+    
+    /**
+     * Returns which piece this is, as one of the piece constants in 
+     * {@link MoveRecorder}
+     * @return which piece this is
+     */
+    public abstract int getPieceType();
+}
\ No newline at end of file
@@ -0,0 +1,366 @@
+package offlinechess;
+
+/**
+ * Precomputed attack tables for every piece.<br>
+ * Knight, king and pawn attacks are a single table lookup. Rook and bishop 
+ * attacks use magic bitboards: the blockers on a slider's lines are 
+ * multiplied by a magic number, and the top bits of the product index 
+ * straight into a table of attack sets. All of the tables are built once, 
+ * when this class is loaded, without touching {@link ChessBoard}.
+ * @author Jed Wang
+ */
+public final class Attacks {
+    /**
+     * The magic numbers for rooks, by bit index
+     */
+    private static final long[] ROOK_MAGICS = {
+        0x4080004000102080L, 0x0040001000402000L, 0x088020000A811000L, 0x0680048010010800L,
+        0x4100040211000800L, 0x2200080950542600L, 0x04000200C1041008L, 0x0300084080220100L,
+        0x0002800080C00020L, 0x0018802000804000L, 0x0608801000842004L, 0x0111000D00201002L,
+        0x0220800800800401L, 0x0000800400020080L, 0x4140800200800100L, 0x904B0001000040A6L,
+        0x0280030020824102L, 0x2018820021024201L, 0x0020430020010011L, 0x0090808008001000L,
+        0x0200818028000400L, 0x4064008004020080L, 0x0000240002015028L, 0x0008820020440081L,
+        0x01508C3080004000L, 0x40A14000C0201000L, 0x0A00100080200088L, 0x0810000808008100L,
+        0x0400080080800400L, 0x0018400801046050L, 0x0002101400084201L, 0x0402A04200010084L,
+        0xC040002040800080L, 0x0020408102002200L, 0x4200100080802004L, 0x9812001042002008L,
+        0x2806000812000420L, 0x0802000802000410L, 0x0000029004000168L, 0xA004800060800100L,
+        0x0058802440008000L, 0x1340201000404000L, 0x201080A3C2020010L, 0x0040081001010020L,
+        0x2608002040040400L, 0x0004040002008080L, 0x0A02100108040002L, 0x0050198044060013L,
+        0x0010408000310100L, 0x0000200040048480L, 0x00C0801000200080L, 0x8001002010018900L,
+        0x0400040080080080L, 0x0001000224002900L, 0x0408104112882400L, 0x0001001A00804100L,
+        0x0000800410C52101L, 0x1000208100400011L, 0x004188C101102003L, 0x2101002004100009L,
+        0xF00A001009442042L, 0x1019000400080A03L, 0x8008020881581004L, 0x0801002104028846L
+    };
+    
+    /**
+     * The magic numbers for bishops, by bit index
+     */
+    private static final long[] BISHOP_MAGICS = {
+        0x0C10500108003042L, 0x0004042092020000L, 0x00840424A6000920L, 0x0208085104202000L,
+        0x0404102914008010L, 0x2046088404218040L, 0x000080C820500800L, 0x000C104202104040L,
+        0x4004604521081900L, 0xDA90030408220040L, 0x1000108400802030L, 0x1020082082200500L,
+        0x0008011040888000L, 0x1104011008040000L, 0x8026104150101000L, 0x0402002401080880L,
+        0x4020060484100221L, 0x150402101000C100L, 0x003800100180204AL, 0x0200800802024420L,
+        0x0081000820080000L, 0x10110002008201A1L, 0x0408410608040506L, 0x022288004400A800L,
+        0x0220248023180A00L, 0x0110028010823220L, 0x40253000120C0042L, 0x0008080000820002L,
+        0x8801080501004004L, 0x0090010020240122L, 0x00010402010088C0L, 0x8210520044410420L,
+        0x0082080400C01090L, 0x0004022800029003L, 0x820C021800710040L, 0x3C22010040840040L,
+        0x00640C0400401010L, 0x0158100300202080L, 0x0008410720884800L, 0x0404004619008080L,
+        0x0800842020000805L, 0x0B10440420010410L, 0x4010420041001004L, 0x0444084010400E00L,
+        0x004840810A002300L, 0x0808100408104420L, 0x001404280040C624L, 0x0001820C0B004040L,
+        0x880202122004C200L, 0x0090410890100BB4L, 0x0820102402080400L, 0x0001008084044004L,
+        0x0800000821010C04L, 0x0001885110428080L, 0x1240080101220808L, 0x4014140400520486L,
+        0x0080820080A08800L, 0x0012004404410800L, 0x90482012008C4418L, 0x0481400040840400L,
+        0x0000010810020220L, 0x0820006890108220L, 0x440220200400A0A0L, 0x3120190402808600L
+    };
+    
+    /**
+     * The squares a knight attacks, by bit index
+     */
+    private static final long[] KNIGHT = new long[64];
+    
+    /**
+     * The squares a king attacks, by bit index
+     */
+    private static final long[] KING = new long[64];
+    
+    /**
+     * The squares a white pawn attacks, by bit index
+     */
+    private static final long[] WHITE_PAWN = new long[64];
+    
+    /**
+     * The squares a black pawn attacks, by bit index
+     */
+    private static final long[] BLACK_PAWN = new long[64];
+    
+    /**
+     * The squares whose occupancy matters to a rook, by bit index
+     */
+    private static final long[] ROOK_MASKS = new long[64];
+    
+    /**
+     * The squares whose occupancy matters to a bishop, by bit index
+     */
+    private static final long[] BISHOP_MASKS = new long[64];
+    
+    /**
+     * How far to shift a rook's magic product, by bit index
+     */
+    private static final int[] ROOK_SHIFTS = new int[64];
+    
+    /**
+     * How far to shift a bishop's magic product, by bit index
+     */
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    
+    /**
+     * Where each square's rook attacks start in {@link #ROOK_TABLE}
+     */
+    private static final int[] ROOK_OFFSETS = new int[64];
+    
+    /**
+     * Where each square's bishop attacks start in {@link #BISHOP_TABLE}
+     */
+    private static final int[] BISHOP_OFFSETS = new int[64];
+    
+    /**
+     * Every rook attack set, indexed by offset + magic index
+     */
+    private static final long[] ROOK_TABLE;
+    
+    /**
+     * Every bishop attack set, indexed by offset + magic index
+     */
+    private static final long[] BISHOP_TABLE;
+    
+    /**
+     * The squares strictly between two squares on the same line, 
+     * indexed by first bit index * 64 + second bit index
+     */
+    private static final long[] BETWEEN = new long[64 * 64];
+    
+    /**
+     * The steps a knight can take, as {column shift, row shift}
+     */
+    private static final int[][] KNIGHT_STEPS = {{1, 2}, {2, 1}, {2, -1}, 
+        {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}};
+    
+    /**
+     * The steps a king can take, as {column shift, row shift}
+     */
+    private static final int[][] KING_STEPS = {{1, 0}, {1, 1}, {0, 1}, 
+        {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}, {1, -1}};
+    
+    /**
+     * The captures of a white pawn, which moves towards row 0
+     */
+    private static final int[][] WHITE_PAWN_STEPS = {{-1, -1}, {1, -1}};
+    
+    /**
+     * The captures of a black pawn, which moves towards row 7
+     */
+    private static final int[][] BLACK_PAWN_STEPS = {{-1, 1}, {1, 1}};
+    
+    /**
+     * The directions a rook slides in, as {column shift, row shift}
+     */
+    private static final int[][] ROOK_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    
+    /**
+     * The directions a bishop slides in, as {column shift, row shift}
+     */
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+    
+    /**
+     * How long it took to build all of the tables, in nanoseconds
+     */
+    private static final long INIT_NANOS;
+    
+    static {
+        long start = System.nanoTime();
+        for(int i = 0; i < 64; i++) {
+            KNIGHT[i] = steps(i, KNIGHT_STEPS);
+            KING[i] = steps(i, KING_STEPS);
+            WHITE_PAWN[i] = steps(i, WHITE_PAWN_STEPS);
+            BLACK_PAWN[i] = steps(i, BLACK_PAWN_STEPS);
+        }
+        ROOK_TABLE = new long[fillMasks(ROOK_DIRECTIONS, ROOK_MASKS, ROOK_SHIFTS, ROOK_OFFSETS)];
+        BISHOP_TABLE = new long[fillMasks(BISHOP_DIRECTIONS, BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_OFFSETS)];
+        for(int i = 0; i < 64; i++) {
+            fillTable(i, ROOK_DIRECTIONS, ROOK_MASKS[i], ROOK_MAGICS[i], 
+                    ROOK_SHIFTS[i], ROOK_OFFSETS[i], ROOK_TABLE);
+            fillTable(i, BISHOP_DIRECTIONS, BISHOP_MASKS[i], BISHOP_MAGICS[i], 
+                    BISHOP_SHIFTS[i], BISHOP_OFFSETS[i], BISHOP_TABLE);
+        }
+        for(int a = 0; a < 64; a++) {
+            for(int b = 0; b < 64; b++) {
+                long bitA = 1L << a, bitB = 1L << b;
+                if((rook(a, 0) & bitB) != 0) {
+                    BETWEEN[(a << 6) | b] = rook(a, bitB) & rook(b, bitA);
+                } else if((bishop(a, 0) & bitB) != 0) {
+                    BETWEEN[(a << 6) | b] = bishop(a, bitB) & bishop(b, bitA);
+                }
+            }
+        }
+        INIT_NANOS = System.nanoTime() - start;
+    }
+    
+    /**
+     * No instances
+     */
+    private Attacks() {
+    }
+    
+    /**
+     * Determines which squares can be reached in a single step
+     * @param index the bit index to step from
+     * @param shifts the steps, as {column shift, row shift}
+     * @return the squares that can be reached
+     */
+    private static long steps(int index, int[][] shifts) {
+        int col = index & 7, row = index >>> 3;
+        long output = 0;
+        for(int[] shift : shifts) {
+            int c = col + shift[0], r = row + shift[1];
+            if(c >= 0 && c <= 7 && r >= 0 && r <= 7) {
+                output |= Bitboards.bit(Bitboards.toIndex(c, r));
+            }
+        }
+        return output;
+    }
+    
+    /**
+     * Slides from a square until the edge of the board or a blocker.<br>
+     * Only used to build the tables.
+     * @param index the bit index to slide from
+     * @param directions the directions to slide in
+     * @param blockers the occupied squares
+     * @return the squares that are attacked
+     */
+    private static long slide(int index, int[][] directions, long blockers) {
+        int col = index & 7, row = index >>> 3;
+        long output = 0;
+        for(int[] direction : directions) {
+            int c = col + direction[0], r = row + direction[1];
+            while(c >= 0 && c <= 7 && r >= 0 && r <= 7) {
+                long bit = 1L << ((r << 3) | c);
+                output |= bit;
+                if((blockers & bit) != 0) break;
+                c += direction[0];
+                r += direction[1];
+            }
+        }
+        return output;
+    }
+    
+    /**
+     * Fills in the masks, shifts and offsets for a sliding piece
+     * @param directions the directions the piece slides in
+     * @param masks the occupancy masks to fill in
+     * @param shifts the shifts to fill in
+     * @param offsets the table offsets to fill in
+     * @return how big the attack table needs to be
+     */
+    private static int fillMasks(int[][] directions, long[] masks, int[] shifts, int[] offsets) {
+        int size = 0;
+        for(int i = 0; i < 64; i++) {
+            int col = i & 7, row = i >>> 3;
+            long mask = 0;
+            for(int[] direction : directions) {
+                int c = col + direction[0], r = row + direction[1];
+                // the last square on each line never blocks anything
+                while(c + direction[0] >= 0 && c + direction[0] <= 7 && 
+                        r + direction[1] >= 0 && r + direction[1] <= 7) {
+                    mask |= Bitboards.bit(Bitboards.toIndex(c, r));
+                    c += direction[0];
+                    r += direction[1];
+                }
+            }
+            masks[i] = mask;
+            shifts[i] = 64 - Long.bitCount(mask);
+            offsets[i] = size;
+            size += 1 << Long.bitCount(mask);
+        }
+        return size;
+    }
+    
+    /**
+     * Fills in the attack table of one square for a sliding piece
+     * @param index the bit index of the square
+     * @param directions the directions the piece slides in
+     * @param mask the occupancy mask of the square
+     * @param magic the magic number of the square
+     * @param shift the shift of the square
+     * @param offset where the square starts in the table
+     * @param table the table to fill in
+     */
+    private static void fillTable(int index, int[][] directions, long mask, 
+            long magic, int shift, int offset, long[] table) {
+        long blockers = 0;
+        do {
+            table[offset + (int) ((blockers * magic) >>> shift)] = 
+                    slide(index, directions, blockers);
+            blockers = (blockers - mask) & mask;
+        } while(blockers != 0);
+    }
+    
+    /**
+     * Returns the squares a knight attacks
+     * @param index the bit index of the knight
+     * @return the attacked squares
+     */
+    public static long knight(int index) {
+        return KNIGHT[index];
+    }
+    
+    /**
+     * Returns the squares a king attacks
+     * @param index the bit index of the king
+     * @return the attacked squares
+     */
+    public static long king(int index) {
+        return KING[index];
+    }
+    
+    /**
+     * Returns the squares a pawn attacks
+     * @param index the bit index of the pawn
+     * @param isWhite whether the pawn is white
+     * @return the attacked squares
+     */
+    public static long pawn(int index, boolean isWhite) {
+        return (isWhite)?WHITE_PAWN[index]:BLACK_PAWN[index];
+    }
+    
+    /**
+     * Returns the squares a rook attacks
+     * @param index the bit index of the rook
+     * @param occupancy all of the occupied squares
+     * @return the attacked squares
+     */
+    public static long rook(int index, long occupancy) {
+        return ROOK_TABLE[ROOK_OFFSETS[index] + 
+                (int) (((occupancy & ROOK_MASKS[index]) * ROOK_MAGICS[index]) >>> ROOK_SHIFTS[index])];
+    }
+    
+    /**
+     * Returns the squares a bishop attacks
+     * @param index the bit index of the bishop
+     * @param occupancy all of the occupied squares
+     * @return the attacked squares
+     */
+    public static long bishop(int index, long occupancy) {
+        return BISHOP_TABLE[BISHOP_OFFSETS[index] + 
+                (int) (((occupancy & BISHOP_MASKS[index]) * BISHOP_MAGICS[index]) >>> BISHOP_SHIFTS[index])];
+    }
+    
+    /**
+     * Returns the squares a queen attacks
+     * @param index the bit index of the queen
+     * @param occupancy all of the occupied squares
+     * @return the attacked squares
+     */
+    public static long queen(int index, long occupancy) {
+        return rook(index, occupancy) | bishop(index, occupancy);
+    }
+    
+    /**
+     * Returns the squares strictly between two squares
+     * @param a the bit index of one square
+     * @param b the bit index of the other square
+     * @return the squares in between, and if the squares do not share a 
+     * rank, file or diagonal, none
+     */
+    public static long between(int a, int b) {
+        return BETWEEN[(a << 6) | b];
+    }
+    
+    /**
+     * Returns how long it took to build the attack tables
+     * @return how long building the tables took, in nanoseconds
+     */
+    public static long getInitNanos() {
+        return INIT_NANOS;
+    }
+}
\ No newline at end of file
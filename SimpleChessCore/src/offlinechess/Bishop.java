@@ -0,0 +1,54 @@
+package offlinechess;
+
+import java.util.LinkedList;
+
+/**
+ * A class that represents the bishop
+ * @author Jed Wang
+ */
+public class Bishop extends AbstractPiece {
+    /**
+     * The white bishop
+     */
+    private static final Bishop WHITE = new Bishop(true);
+    
+    /**
+     * The black bishop
+     */
+    private static final Bishop BLACK = new Bishop(false);
+    
+    /**
+     * Creates a new Bishop
+     * @param isWhite whether the bishop is white or black
+     */
+    private Bishop(boolean isWhite) {
+        super(isWhite);
+    }
+    
+    /**
+     * Returns the bishop of one color.<br>
+     * Pieces carry no state, so every board shares the same two.
+     * @param isWhite whether the bishop is white or black
+     * @return the bishop of that color
+     */
+    public static Bishop getInstance(boolean isWhite) {
+        return (isWhite)?WHITE:BLACK;
+    }
+
+    @Override
+    public LinkedList<Integer> allLegalMoves(ChessBoard cb, int currentPosition) {
+        if(!ChessBoard.isValidSquare(currentPosition)) throw new IllegalArgumentException("Invalid square");
+        if(cb.getPiece(currentPosition).getPieceType() != MoveRecorder.BISHOP) throw new IllegalArgumentException("This isn\'t a bishop!");
+        return toSquares(Attacks.bishop(Bitboards.toIndex(currentPosition), cb.getOccupancy()) & ~cb.getOccupancy(isWhite));
+    }
+    
+    @Override
+    public String getCharRepresentation() {
+        return "B";
+    }
+
+    @Override
+    public int getPieceType() {
+        return MoveRecorder.BISHOP;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package offlinechess;
+
+/**
+ * Helpers for working with 64-bit bitboards.<br>
+ * Bit <code>i</code> of a bitboard stands for the square in ABSOLUTE row
+ * <code>i/8</code> and ABSOLUTE column <code>i%8</code>, the same rows and
+ * columns {@link ChessBoard} uses (row 0 is the eighth rank).
+ * @author Jed Wang
+ */
+public final class Bitboards {
+    /**
+     * int square -> bit index, -1 for invalid squares
+     */
+    private static final int[] SQUARE_TO_INDEX = new int[78];
+
+    /**
+     * bit index -> int square
+     */
+    private static final int[] INDEX_TO_SQUARE = new int[64];
+
+    static {
+        for(int i = 0; i < SQUARE_TO_INDEX.length; i++) {
+            SQUARE_TO_INDEX[i] = -1;
+        }
+        for(int i = 0; i < 64; i++) {
+            int square = 10 * (i & 7) + (i >>> 3);
+            INDEX_TO_SQUARE[i] = square;
+            SQUARE_TO_INDEX[square] = i;
+        }
+    }
+
+    /**
+     * No instances
+     */
+    private Bitboards() {
+    }
+
+    /**
+     * Determines the bit index of a square
+     * @param square a valid square
+     * @return the bit index of the square
+     */
+    public static int toIndex(int square) {
+        return SQUARE_TO_INDEX[square];
+    }
+
+    /**
+     * Determines the bit index of a space represented by ABSOLUTE coordinates
+     * @param col the ABSOLUTE column
+     * @param row the ABSOLUTE row
+     * @return the bit index of the square
+     */
+    public static int toIndex(int col, int row) {
+        return (row << 3) | col;
+    }
+
+    /**
+     * Determines the square of a bit index
+     * @param index a bit index from 0 to 63
+     * @return the square that is represented by the index
+     */
+    public static int toSquare(int index) {
+        return INDEX_TO_SQUARE[index];
+    }
+
+    /**
+     * Returns a bitboard with only the given bit set
+     * @param index a bit index from 0 to 63
+     * @return the bitboard of that single square
+     */
+    public static long bit(int index) {
+        return 1L << index;
+    }
+
+    /**
+     * Determines the index of the lowest set bit
+     * @param bb a non-empty bitboard
+     * @return the index of the lowest set bit
+     */
+    public static int first(long bb) {
+        return Long.numberOfTrailingZeros(bb);
+    }
+}
\ No newline at end of file
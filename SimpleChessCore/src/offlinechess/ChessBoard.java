@@ -0,0 +1,2268 @@
+package offlinechess;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * A class that represents a chess board
+ * @author Jed Wang
+ */
+public class ChessBoard {
+    /**
+     * White may still castle kingside
+     */
+    public static final int WHITE_KINGSIDE = 1;
+    
+    /**
+     * White may still castle queenside
+     */
+    public static final int WHITE_QUEENSIDE = 2;
+    
+    /**
+     * Black may still castle kingside
+     */
+    public static final int BLACK_KINGSIDE = 4;
+    
+    /**
+     * Black may still castle queenside
+     */
+    public static final int BLACK_QUEENSIDE = 8;
+    
+    /**
+     * Which castling rights survive a move from or to each bit index
+     */
+    private static final int[] CASTLING_MASKS = new int[64];
+    
+    /**
+     * The light squares: those where {@link #isSquareWhite(int, int)} is true
+     */
+    private static final long LIGHT_SQUARES = 0xAA55AA55AA55AA55L;
+    
+    /**
+     * Both sides, to loop over
+     */
+    private static final boolean[] COLORS = {true, false};
+    
+    /**
+     * How many moves the undo stack holds once it is first needed
+     */
+    private static final int UNDO_CAPACITY = 256;
+    
+    /**
+     * The empty {@link #undoMoves} of a board that has not made a move yet
+     */
+    private static final int[] NO_INTS = new int[0];
+    
+    /**
+     * The empty {@link #undoStates} and {@link #undoHashes} of a board 
+     * that has not made a move yet
+     */
+    private static final long[] NO_LONGS = new long[0];
+    
+    /**
+     * The empty {@link #undoMoved} and {@link #undoCaptured} of a board 
+     * that has not made a move yet
+     */
+    private static final AbstractPiece[] NO_PIECES = new AbstractPiece[0];
+    
+    /**
+     * The FEN letters of the pieces, white pieces 0-5 and black 6-11
+     */
+    private static final char[] FEN_PIECES = "PNBRQKpnbrqk".toCharArray();
+    
+    /**
+     * How much each kind of piece is worth when exchanging pieces, in 
+     * centipawns; the king is worth more than everything else together
+     */
+    private static final int[] EXCHANGE_VALUES = {100, 320, 330, 500, 900, 20000};
+    
+    /**
+     * The rows pawns promote on: row 0 for white and row 7 for black
+     */
+    private static final long WHITE_PROMOTIONS = 0xFFL, BLACK_PROMOTIONS = 0xFFL << 56;
+    
+    /**
+     * The FEN of the starting position
+     */
+    public static final String STARTING_FEN = 
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+    
+    /**
+     * One bitboard per piece type and color, indexed by 
+     * {@link #bitboardIndex(int, boolean)}
+     */
+    private final long[] bitboards = new long[12];
+    
+    /**
+     * How many pieces of each type and color are on the board, indexed by 
+     * {@link #bitboardIndex(int, boolean)}
+     */
+    private final int[] pieceCounts = new int[12];
+    
+    /**
+     * All of the squares occupied by white pieces
+     */
+    private long whiteOccupancy;
+    
+    /**
+     * All of the squares occupied by black pieces
+     */
+    private long blackOccupancy;
+    
+    /**
+     * All of the occupied squares
+     */
+    private long occupancy;
+    
+    /**
+     * The piece objects, indexed by bit index.<br>
+     * Only kept to hand out the pieces themselves; the bitboards decide 
+     * what is where.
+     */
+    private final AbstractPiece[] pieces = new AbstractPiece[64];
+    
+    /**
+     * The middlegame and endgame worth of the pieces, from white, kept up 
+     * to date by every change to the board
+     * @see Evaluation
+     */
+    private int middlegame = 0, endgame = 0;
+    
+    /**
+     * The phase of the game: how much of the material other than pawns is 
+     * still on the board, kept up to date by every change to the board
+     * @see Evaluation#MAX_PHASE
+     */
+    private int phase = 0;
+    
+    /**
+     * What each capture of an exchange wins, worked out by 
+     * {@link #staticExchange(int)}; there are never more than 32 captures
+     */
+    private final int[] exchangeGains = new int[32];
+    
+    /**
+     * Whether the player this board is facing is white
+     */
+    private boolean playerIsWhite = true; // set it during the server application
+    
+    /**
+     * The MoveRecorder<br>
+     * Copies do not make one until it is first needed.
+     */
+    private MoveRecorder mr;
+    
+    /**
+     * The square open for en passant, as {@link #toSquare(int, int)} 
+     * gives it: the one a pawn skipped over in its double step.<br>
+     * -1 stands for no open square<br>
+     * Controls en passant
+     */
+    private int enPassant = -1;
+    
+    /**
+     * Which castling moves are still allowed.<br>
+     * A combination of {@link #WHITE_KINGSIDE}, {@link #WHITE_QUEENSIDE}, 
+     * {@link #BLACK_KINGSIDE} and {@link #BLACK_QUEENSIDE}
+     */
+    private int castling = WHITE_KINGSIDE | WHITE_QUEENSIDE | 
+            BLACK_KINGSIDE | BLACK_QUEENSIDE;
+    
+    /**
+     * The undo stack: every move made, packed as 
+     * from | to &lt;&lt; 6 | where the capture was &lt;&lt; 12 | castled &lt;&lt; 18
+     */
+    private int[] undoMoves = NO_INTS;
+    
+    /**
+     * The undo stack: the piece that made each move
+     */
+    private AbstractPiece[] undoMoved = NO_PIECES;
+    
+    /**
+     * The undo stack: the piece captured by each move, and if none, null
+     */
+    private AbstractPiece[] undoCaptured = NO_PIECES;
+    
+    /**
+     * The undo stack: the state before each move, packed as 
+     * castling rights | (en passant square + 1) &lt;&lt; 4 | 
+     * halfmove clock &lt;&lt; 11 | fifty move clock &lt;&lt; 40
+     */
+    private long[] undoStates = NO_LONGS;
+    
+    /**
+     * The undo stack: the hash of the position before each move.<br>
+     * Also the history used to find repetitions.
+     */
+    private long[] undoHashes = NO_LONGS;
+    
+    /**
+     * How many moves are on the undo stack
+     */
+    private int undoSize = 0;
+    
+    /**
+     * How many moves at the bottom of the undo stack were copied from 
+     * another board: they only count towards repetitions, and cannot be 
+     * taken back
+     */
+    private int undoFloor = 0;
+    
+    /**
+     * Which side the check and pin masks were worked out for
+     */
+    private boolean maskIsWhite;
+    
+    /**
+     * The hash of the position the check and pin masks were worked out for
+     */
+    private long maskHash;
+    
+    /**
+     * Whether the check and pin masks can be used
+     */
+    private boolean masksValid = false;
+    
+    /**
+     * The bit index of the king the masks were worked out for, -1 if none
+     */
+    private int maskKing;
+    
+    /**
+     * The enemy pieces giving check
+     */
+    private long checkers;
+    
+    /**
+     * The squares that a piece other than the king may move to without 
+     * leaving the king in check: everything if not in check, the checker 
+     * and the squares in between if in check once, nothing if double check
+     */
+    private long checkMask;
+    
+    /**
+     * The pieces pinned to their king
+     */
+    private long pinned;
+    
+    /**
+     * The squares a pinned piece may move to, by bit index.<br>
+     * Not made until it is first needed.
+     */
+    private long[] pinRays = null;
+    
+    /**
+     * All of the legal moves of the side to move, 
+     * as of the last {@link #recalculateMoves()}.<br>
+     * Not made until it is first needed.
+     */
+    private MoveList allLegalMoves = null;
+    
+    /**
+     * The squares each piece of the side to move may move to, by the bit 
+     * index of its square, filled along with {@link #allLegalMoves}.<br>
+     * Not made until it is first needed.
+     */
+    private long[] legalTargetsFrom = null;
+    
+    /**
+     * The hash of the position {@link #allLegalMoves} was filled for
+     */
+    private long movesHash;
+    
+    /**
+     * Whether {@link #allLegalMoves} has been filled at all
+     */
+    private boolean movesValid = false;
+    
+    /**
+     * The Zobrist hash of the current position, kept up to date by every 
+     * change to the board
+     */
+    private long hash = 0;
+    
+    /**
+     * How many moves have been made since the last pawn move, capture or 
+     * loss of castling rights, which can never repeat a position from 
+     * before them
+     */
+    private int halfmoveClock = 0;
+    
+    /**
+     * How many moves have been made since the last pawn move or capture: 
+     * the halfmove clock of a FEN, and the clock of the fifty move rule
+     */
+    private int fiftyMoveClock = 0;
+    
+    /**
+     * The number of the current full move, which starts at 1 and goes up 
+     * after each move of black
+     */
+    private int fullmoveNumber = 1;
+    
+    static {
+        for(int i = 0; i < 64; i++) {
+            CASTLING_MASKS[i] = WHITE_KINGSIDE | WHITE_QUEENSIDE | 
+                    BLACK_KINGSIDE | BLACK_QUEENSIDE;
+        }
+        CASTLING_MASKS[Bitboards.toIndex(4, 7)] &= ~(WHITE_KINGSIDE | WHITE_QUEENSIDE);
+        CASTLING_MASKS[Bitboards.toIndex(7, 7)] &= ~WHITE_KINGSIDE;
+        CASTLING_MASKS[Bitboards.toIndex(0, 7)] &= ~WHITE_QUEENSIDE;
+        CASTLING_MASKS[Bitboards.toIndex(4, 0)] &= ~(BLACK_KINGSIDE | BLACK_QUEENSIDE);
+        CASTLING_MASKS[Bitboards.toIndex(7, 0)] &= ~BLACK_KINGSIDE;
+        CASTLING_MASKS[Bitboards.toIndex(0, 0)] &= ~BLACK_QUEENSIDE;
+    }
+    
+    /**
+     * Default constructor.
+     */
+    public ChessBoard() {
+        addPieces();
+        mr = new MoveRecorder();
+        rehash();
+    }
+    
+    /**
+     * Adds the starting pieces to a chessboard.
+     */
+    private void addPieces() {
+        for(int i = 0;i<8;i++) {
+            putPiece(Pawn.getInstance(false), Bitboards.toIndex(i, 1));
+            putPiece(Pawn.getInstance(true), Bitboards.toIndex(i, 6));
+        }
+        
+        putPiece(Rook.getInstance(false), Bitboards.toIndex(0, 0));
+        putPiece(Knight.getInstance(false), Bitboards.toIndex(1, 0));
+        putPiece(Bishop.getInstance(false), Bitboards.toIndex(2, 0));
+        putPiece(Queen.getInstance(false), Bitboards.toIndex(3, 0));
+        putPiece(King.getInstance(false), Bitboards.toIndex(4, 0));
+        putPiece(Bishop.getInstance(false), Bitboards.toIndex(5, 0));
+        putPiece(Knight.getInstance(false), Bitboards.toIndex(6, 0));
+        putPiece(Rook.getInstance(false), Bitboards.toIndex(7, 0));
+        
+        putPiece(Rook.getInstance(true), Bitboards.toIndex(0, 7));
+        putPiece(Knight.getInstance(true), Bitboards.toIndex(1, 7));
+        putPiece(Bishop.getInstance(true), Bitboards.toIndex(2, 7));
+        putPiece(Queen.getInstance(true), Bitboards.toIndex(3, 7));
+        putPiece(King.getInstance(true), Bitboards.toIndex(4, 7));
+        putPiece(Bishop.getInstance(true), Bitboards.toIndex(5, 7));
+        putPiece(Knight.getInstance(true), Bitboards.toIndex(6, 7));
+        putPiece(Rook.getInstance(true), Bitboards.toIndex(7, 7));
+    }
+    
+    /**
+     * Determines which of the 12 bitboards holds a kind of piece
+     * @param whichPiece which piece, determined by the number
+     * @param isWhite whether the piece is white
+     * @return the index into the bitboards
+     */
+    private static int bitboardIndex(int whichPiece, boolean isWhite) {
+        return (isWhite)?whichPiece:whichPiece + 6;
+    }
+    
+    /**
+     * Puts a piece on an empty square, updating the bitboards
+     * @param ap the piece to put down
+     * @param index the bit index of the square
+     */
+    private void putPiece(AbstractPiece ap, int index) {
+        long bit = Bitboards.bit(index);
+        int type = ap.getPieceType(), kind = bitboardIndex(type, ap.isWhite);
+        bitboards[kind] |= bit;
+        pieceCounts[kind]++;
+        if(ap.isWhite) {
+            whiteOccupancy |= bit;
+        } else {
+            blackOccupancy |= bit;
+        }
+        occupancy |= bit;
+        pieces[index] = ap;
+        hash ^= Zobrist.piece(kind, index);
+        middlegame += Evaluation.middlegame(kind, index);
+        endgame += Evaluation.endgame(kind, index);
+        phase += Evaluation.phase(type);
+    }
+    
+    /**
+     * Takes the piece off of a square, updating the bitboards
+     * @param index the bit index of the square
+     * @return the piece that was there, and if none, null
+     */
+    private AbstractPiece removePiece(int index) {
+        AbstractPiece ap = pieces[index];
+        if(ap == null) return null;
+        long bit = Bitboards.bit(index);
+        int type = ap.getPieceType(), kind = bitboardIndex(type, ap.isWhite);
+        bitboards[kind] &= ~bit;
+        pieceCounts[kind]--;
+        whiteOccupancy &= ~bit;
+        blackOccupancy &= ~bit;
+        occupancy &= ~bit;
+        pieces[index] = null;
+        hash ^= Zobrist.piece(kind, index);
+        middlegame -= Evaluation.middlegame(kind, index);
+        endgame -= Evaluation.endgame(kind, index);
+        phase -= Evaluation.phase(type);
+        return ap;
+    }
+    
+    /**
+     * Removes every piece from the board
+     */
+    private void clearPieces() {
+        for(int i = 0; i < bitboards.length; i++) {
+            bitboards[i] = 0;
+            pieceCounts[i] = 0;
+        }
+        whiteOccupancy = 0;
+        blackOccupancy = 0;
+        occupancy = 0;
+        for(int i = 0; i < pieces.length; i++) {
+            pieces[i] = null;
+        }
+        hash = 0;
+        middlegame = endgame = phase = 0;
+    }
+    
+    /**
+     * Determines the part of the hash that does not come from the pieces: 
+     * the castling rights, the en passant file and the side to move
+     * @return the hash of the state of the game
+     */
+    private long stateHash() {
+        long output = Zobrist.castling(castling);
+        if(enPassant != -1) {
+            // only if the side to move has a pawn that can capture en passant
+            long capturers = Attacks.pawn(Bitboards.toIndex(enPassant), !playerIsWhite) 
+                    & bitboards[bitboardIndex(MoveRecorder.PAWN, playerIsWhite)];
+            if(capturers != 0) output ^= Zobrist.enPassant(enPassant/10);
+        }
+        if(!playerIsWhite) output ^= Zobrist.blackToMove();
+        return output;
+    }
+    
+    /**
+     * Calculates the hash of this position from scratch
+     */
+    private void rehash() {
+        hash = stateHash();
+        for(int i = 0; i < pieces.length; i++) {
+            if(pieces[i] != null) 
+                hash ^= Zobrist.piece(bitboardIndex(pieces[i].getPieceType(), pieces[i].isWhite), i);
+        }
+    }
+    
+    /**
+     * Returns the Zobrist hash of the current position, which covers the 
+     * pieces, the side to move, the castling rights and en passant
+     * @return the hash of the current position
+     */
+    public long getHash() {
+        return hash;
+    }
+    
+    /**
+     * Constructor from a previous ChessBoard<br>
+     * Only copies the position itself: no starting pieces are set up, and 
+     * the undo stack, move list and MoveRecorder are not made until they 
+     * are needed. Pieces are immutable, so the copy shares nothing that can 
+     * change with the original.
+     * @param cb the ChessBoard to duplicate
+     */
+    public ChessBoard(ChessBoard cb) {
+        copyFrom(cb);
+    }
+    
+    /**
+     * Constructor from a FEN
+     * @param fen the position, in Forsyth-Edwards Notation
+     * @throws IllegalArgumentException if the FEN cannot be read
+     * @see #loadFEN(CharSequence, int, int)
+     */
+    public ChessBoard(String fen) {
+        loadFEN(fen, 0, fen.length());
+    }
+    
+    /**
+     * Turns this board into a copy of another, reusing this board's arrays.
+     * <br>
+     * The undo stack is emptied, so moves made before the copy cannot be 
+     * taken back and do not count towards repetitions. Any moves recorded 
+     * by this board's MoveRecorder are dropped.
+     * @param cb the ChessBoard to copy
+     */
+    public void copyFrom(ChessBoard cb) {
+        System.arraycopy(cb.bitboards, 0, bitboards, 0, bitboards.length);
+        System.arraycopy(cb.pieceCounts, 0, pieceCounts, 0, pieceCounts.length);
+        System.arraycopy(cb.pieces, 0, pieces, 0, pieces.length);
+        this.whiteOccupancy = cb.whiteOccupancy;
+        this.blackOccupancy = cb.blackOccupancy;
+        this.occupancy = cb.occupancy;
+        this.playerIsWhite = cb.playerIsWhite;
+        this.enPassant = cb.enPassant;
+        this.castling = cb.castling;
+        this.hash = cb.hash;
+        this.middlegame = cb.middlegame;
+        this.endgame = cb.endgame;
+        this.phase = cb.phase;
+        this.halfmoveClock = cb.halfmoveClock;
+        this.fiftyMoveClock = cb.fiftyMoveClock;
+        this.fullmoveNumber = cb.fullmoveNumber;
+        this.mr = null;
+        forgetHistory();
+    }
+    
+    /**
+     * Turns this board into a copy of another, reusing this board's arrays, 
+     * and optionally keeps the positions since the last irreversible move 
+     * so that repeating them is still found.<br>
+     * The moves that led to those positions still cannot be taken back.
+     * @param cb the ChessBoard to copy
+     * @param keepRepetitions whether to keep the positions that can 
+     * still repeat
+     */
+    public void copyFrom(ChessBoard cb, boolean keepRepetitions) {
+        copyFrom(cb);
+        if(!keepRepetitions) return;
+        int kept = Math.min(cb.undoSize, cb.halfmoveClock);
+        while(undoHashes.length < kept) growUndoStack();
+        System.arraycopy(cb.undoHashes, cb.undoSize - kept, undoHashes, 0, kept);
+        undoSize = undoFloor = kept;
+    }
+    
+    /**
+     * Empties the undo stack and drops the cached move list, after this 
+     * board has been set to a new position
+     */
+    private void forgetHistory() {
+        for(int i = 0; i < undoSize; i++) {
+            undoMoved[i] = null;
+            undoCaptured[i] = null;
+        }
+        undoSize = undoFloor = 0;
+        masksValid = false;
+        movesValid = false;
+    }
+    
+    /**
+     * Returns the MoveRecorder, making it first if this board is a copy, 
+     * in which case the game it records starts from the current position
+     * @return the MoveRecorder
+     */
+    private MoveRecorder recorder() {
+        if(mr == null) mr = new MoveRecorder(toFEN());
+        return mr;
+    }
+    
+    /**
+     * Packs a move the way the MoveRecorder keeps it
+     * @param fromWhere from where a piece is moved
+     * @param toWhere where to move a piece
+     * @param toWhatPiece what a pawn promotes to if it reaches the last rank
+     * @return the move, packed as in {@link Move}, with a promotion only 
+     * if a pawn reaches the last rank
+     */
+    private int recordedMove(int fromWhere, int toWhere, int toWhatPiece) {
+        int from = Bitboards.toIndex(fromWhere), to = Bitboards.toIndex(toWhere);
+        boolean promotes = pieces[from].getPieceType() == MoveRecorder.PAWN && 
+                (toWhere%10 == 0 || toWhere%10 == 7);
+        return Move.of(from, to, (promotes)?toWhatPiece:0, 0);
+    }
+    
+    /**
+     * Determines which piece occupies a square
+     * @param square a square
+     * @return the piece on that square, and if none, null
+     */
+    public AbstractPiece getPiece(int square) {
+        if(isValidSquare(square)) {
+            return pieces[Bitboards.toIndex(square)];
+        } else throw new IllegalArgumentException("Invalid square");
+    }
+    
+    /**
+     * Determines which kind of piece is on a square, without checking it
+     * @param index the bit index of the square
+     * @return which piece, as one of the piece constants in 
+     * {@link MoveRecorder}, and if none, -1
+     */
+    int pieceTypeAt(int index) {
+        AbstractPiece ap = pieces[index];
+        return (ap == null)?-1:ap.getPieceType();
+    }
+    
+    /**
+     * Determines which piece occupies a space represented by ABSOLUTE coordinates<br>
+     * i.e. (0, 0) represents the top left corner
+     * @param col the ABSOLUTE column
+     * @param row the ABSOLUTE row
+     * @return the piece on that square, and if none, null
+     */
+    public AbstractPiece getPiece(int col, int row) {
+        if(isValidSquare(col, row)) {
+            return pieces[Bitboards.toIndex(col, row)];
+        } else throw new IllegalArgumentException("Invalid square");
+    }
+    
+    /**
+     * Determines whether a square is empty
+     * @param square a square
+     * @return whether that square is empty
+     */
+    public boolean isEmptySquare(int square) {
+        if(isValidSquare(square)) {
+            return (occupancy & Bitboards.bit(Bitboards.toIndex(square))) == 0;
+        } else throw new IllegalArgumentException("Invalid square");
+    }
+    
+    /**
+     * Determines whether a space represented by ABSOLUTE coordinates is empty
+     * @param col the ABSOLUTE column
+     * @param row the ABSOLUTE row
+     * @return whether that square is empty
+     */
+    public boolean isEmptySquare(int col, int row) {
+        if(isValidSquare(col, row)) {
+            return (occupancy & Bitboards.bit(Bitboards.toIndex(col, row))) == 0;
+        } else throw new IllegalArgumentException("Invalid square");
+    }
+    
+    /**
+     * Determines the validity of the square
+     * @param s a square
+     * @return whether the square is valid
+     */
+    public static boolean isValidSquare(int s) {
+        if(s >= 0 && s <= 77) {
+            int col = s / 10, 
+                    row = s % 10;
+            return col >= 0 && col <= 7 && row >= 0 && row <= 7;
+        } else return false;
+    }
+    
+    /**
+     * Determines the validity of the square
+     * @param col the ABSOLUTE column
+     * @param row the ABSOLUTE row
+     * @return whether the square is valid
+     */
+    public static boolean isValidSquare(int col, int row) {
+        return col >= 0 && col <= 7 && row >= 0 && row <= 7;
+    }
+    
+    /**
+     * Determines which column a square is referring to<br>
+     * This method can be substituted by {@code /10} to increase speed, but it 
+     * does not check whether the square is legitimate<br>
+     * <br>
+     * The columns are ordered as such:<br>
+     * |_|_|_|_|_|_|_|_|<br>
+     * |0 1 2 3 4 5 6 7<br>
+     * |a b c d e f g h
+     * @param s a square
+     * @return which column the String is referring to
+     */
+    public static int getColumn(int s) {
+        if(isValidSquare(s)) {
+            return s / 10;
+        } else throw new IllegalArgumentException("Invalid square");
+    }
+    
+    /**
+     * Determines which row a square is referring to<br>
+     * This method can be substituted by {@code %10} to increase speed, but it 
+     * does not check whether the square is legitimate<br>
+     * <br>
+     * The rows are ordered as such:<br>
+     * ____<br>
+     * 0 |_<br>
+     * 1 |_ <br>
+     * 2 |_<br>
+     * 3 |_<br>
+     * 4 |_<br>
+     * 5 |_<br>
+     * 6 |_<br>
+     * 7 |_<br>
+     * ___W
+     * @param s the square
+     * @return the column / file
+     */
+    public static int getRow(int s) {
+        if(isValidSquare(s)) {
+            return s % 10;
+        } else throw new IllegalArgumentException("Invalid square");
+    }
+    
+    /**
+     * Determines where a square is after a shift (a.k.a. moving it left and 
+     * right, up and down)
+     * @param col current column
+     * @param row current row
+     * @param colShift how much to shift the columns
+     * @param rowShift how much to shift the rows
+     * @return the shifted square
+     */
+    public static int shiftSquare(int col, int row, int colShift, 
+            int rowShift) {
+        if(isValidSquare(col, row)) {
+            int shiftedCol = col + colShift, shiftedRow = row + rowShift;
+            if(isValidSquare(shiftedCol, shiftedRow)) {
+                return shiftedCol * 10 + shiftedRow;
+            } else throw new IllegalArgumentException("Invalid shift");
+        } else throw new IllegalArgumentException("Invalid square");
+    }
+    
+    /**
+     * Determines where a square is after a shift (a.k.a. moving it left and 
+     * right, up and down)
+     * @param s the current square
+     * @param colShift how much to shift the columns
+     * @param rowShift how much to shift the rows
+     * @return the shifted square
+     */
+    public static int shiftSquare(int s, int colShift, int rowShift) {
+        if(isValidSquare(s)) {
+            s += colShift * 10 + rowShift;
+            if(isValidSquare(s)) {
+                return s;
+            } else throw new IllegalArgumentException("Invalid shift");
+        } else throw new IllegalArgumentException("Invalid square");
+    }
+    
+    /**
+     * Checks if a shift is valid
+     * @param col current column
+     * @param row current row
+     * @param colShift how much to shift the columns
+     * @param rowShift how much to shift the rows
+     * @return whether the shift is valid
+     */
+    public static boolean isValidShift(int col, int row, int colShift, int rowShift) {
+        if(isValidSquare(col, row)) {
+            int shiftedCol = col + colShift, shiftedRow = row + rowShift;
+            return isValidSquare(shiftedCol, shiftedRow);
+        } else return false;
+    }
+    
+    /**
+     * Checks if this shift is valid
+     * @param s current square
+     * @param colShift how much to shift the columns
+     * @param rowShift how much to shift the rows
+     * @return whether the shift is valid
+     */
+    public static boolean isValidShift(int s, int colShift, int rowShift) {
+        if(isValidSquare(s)) {
+            s += colShift * 10 + rowShift;
+            return isValidSquare(s);
+        } else return false;
+    }
+    
+    /**
+     * Determines the square represented by the row and column
+     * NOTE: always column first, then row
+     * @param column the ABSOLUTE column
+     * @param row the ABSOLUTE row
+     * @return the square that is represented by the row and column
+     */
+    public static int toSquare(int column, int row) {
+        return 10 * column + row;
+    }
+    
+    /**
+     * Recalculates all of the moves on a square
+     */
+    public void recalculateMoves() {
+        if(allLegalMoves == null) {
+            allLegalMoves = new MoveList();
+            legalTargetsFrom = new long[64];
+        } else {
+            allLegalMoves.clear();
+            Arrays.fill(legalTargetsFrom, 0);
+        }
+        long own = (playerIsWhite)?whiteOccupancy:blackOccupancy;
+        while(own != 0) {
+            int index = Bitboards.first(own);
+            own &= own - 1;
+            long targets = legalTargets(Bitboards.toSquare(index));
+            legalTargetsFrom[index] = targets;
+            addMoves(index, targets, allLegalMoves);
+        }
+        movesHash = hash;
+        movesValid = true;
+    }
+    
+    /**
+     * Makes sure the legal moves are those of the current position
+     */
+    private void ensureMoves() {
+        if(!movesValid || movesHash != hash) recalculateMoves();
+    }
+    
+    /**
+     * Returns the squares the piece on a square may move to, out of the 
+     * legal moves of the side to move.<br>
+     * The moves are only generated again if the position has changed, 
+     * so this costs one array lookup.
+     * @param square the square of the piece
+     * @return a bitboard of the squares the piece may move to, 
+     * empty if it is not a piece of the side to move
+     */
+    public long getLegalTargets(int square) {
+        if(!isValidSquare(square)) throw new IllegalArgumentException("Invalid square");
+        ensureMoves();
+        return legalTargetsFrom[Bitboards.toIndex(square)];
+    }
+    
+    /**
+     * Determines whether the side to move may move a piece from one square 
+     * to another, with a single bit test against the legal moves.<br>
+     * Anything that is not a square is simply not legal.
+     * @param fromWhere from where a piece would be moved
+     * @param toWhere to where the piece would be moved
+     * @return whether the move is legal
+     */
+    public boolean isLegalMove(int fromWhere, int toWhere) {
+        if(!isValidSquare(fromWhere) || !isValidSquare(toWhere)) return false;
+        ensureMoves();
+        return (legalTargetsFrom[Bitboards.toIndex(fromWhere)] & 
+                Bitboards.bit(Bitboards.toIndex(toWhere))) != 0;
+    }
+    
+    /**
+     * Determines whether the side to move may promote a pawn
+     * @param fromWhere from where the pawn would be moved
+     * @param toWhere to where the pawn would be moved
+     * @param toWhatPiece to what piece the pawn would promote
+     * @return whether the promotion is legal
+     */
+    public boolean isLegalPromotion(int fromWhere, int toWhere, int toWhatPiece) {
+        if(toWhatPiece < MoveRecorder.KNIGHT || toWhatPiece > MoveRecorder.QUEEN) return false;
+        if(!isLegalMove(fromWhere, toWhere)) return false;
+        int row = getRow(toWhere);
+        return (row == 0 || row == 7) && 
+                getPiece(fromWhere).getPieceType() == MoveRecorder.PAWN;
+    }
+    
+    /**
+     * Returns all of the legal moves of the side to move, 
+     * recalculating them only if the position has changed since the last 
+     * {@link #recalculateMoves()}
+     * @return the legal moves, packed as in {@link Move}
+     */
+    public MoveList getLegalMoves() {
+        ensureMoves();
+        return allLegalMoves;
+    }
+    
+    /**
+     * Adds every legal move of the side to move to a list
+     * @param output the list to add the moves to
+     */
+    public void generateMoves(MoveList output) {
+        long own = (playerIsWhite)?whiteOccupancy:blackOccupancy;
+        while(own != 0) {
+            int index = Bitboards.first(own);
+            own &= own - 1;
+            generateMoves(Bitboards.toSquare(index), output);
+        }
+    }
+    
+    /**
+     * Adds every legal move of the piece on a square to a list.<br>
+     * A pawn reaching the last rank adds one move per promotion piece.
+     * @param square the square of the piece
+     * @param output the list to add the moves to
+     */
+    public void generateMoves(int square, MoveList output) {
+        long targets = legalTargets(square);
+        if(targets == 0) return;
+        addMoves(Bitboards.toIndex(square), targets, output);
+    }
+    
+    /**
+     * Adds every legal move of the side to move that captures something 
+     * or promotes a pawn to a list, for searches that only look at those
+     * @param output the list to add the moves to
+     */
+    public void generateCaptures(MoveList output) {
+        long own = (playerIsWhite)?whiteOccupancy:blackOccupancy;
+        long pawns = bitboards[bitboardIndex(MoveRecorder.PAWN, playerIsWhite)];
+        long pieceSquares = captureSquares(playerIsWhite, MoveRecorder.KNIGHT), 
+                pawnSquares = captureSquares(playerIsWhite, MoveRecorder.PAWN);
+        while(own != 0) {
+            int index = Bitboards.first(own);
+            own &= own - 1;
+            long wanted = ((pawns & Bitboards.bit(index)) != 0)?pawnSquares:pieceSquares;
+            addMoves(index, pieceTargets(index, wanted), output);
+        }
+    }
+    
+    /**
+     * Adds every legal move of the piece on a square that captures 
+     * something or promotes a pawn to a list
+     * @param square the square of the piece
+     * @param output the list to add the moves to
+     */
+    public void generateCaptures(int square, MoveList output) {
+        addMoves(Bitboards.toIndex(square), legalCaptureTargets(square), output);
+    }
+    
+    /**
+     * Adds the moves of the piece on a square to a list.<br>
+     * A pawn reaching the last rank adds one move per promotion piece.
+     * @param from the bit index of the square of the piece
+     * @param targets a bitboard of the squares the piece may move to
+     * @param output the list to add the moves to
+     */
+    private void addMoves(int from, long targets, MoveList output) {
+        if(targets == 0) return;
+        AbstractPiece ap = pieces[from];
+        long enemy = (ap.isWhite)?blackOccupancy:whiteOccupancy;
+        int type = ap.getPieceType();
+        while(targets != 0) {
+            int to = Bitboards.first(targets);
+            targets &= targets - 1;
+            int flags = ((enemy & Bitboards.bit(to)) != 0)?Move.CAPTURE:0;
+            if(type == MoveRecorder.PAWN) {
+                int distance = Math.abs((to >>> 3) - (from >>> 3));
+                if(distance == 2) {
+                    flags |= Move.DOUBLE_PUSH;
+                } else if(flags == 0 && (to & 7) != (from & 7)) {
+                    flags |= Move.CAPTURE | Move.EN_PASSANT;
+                }
+                if((to >>> 3) == 0 || (to >>> 3) == 7) {
+                    output.add(Move.of(from, to, MoveRecorder.QUEEN, flags));
+                    output.add(Move.of(from, to, MoveRecorder.ROOK, flags));
+                    output.add(Move.of(from, to, MoveRecorder.BISHOP, flags));
+                    output.add(Move.of(from, to, MoveRecorder.KNIGHT, flags));
+                    continue;
+                }
+            } else if(type == MoveRecorder.KING && Math.abs((to & 7) - (from & 7)) == 2) {
+                flags |= Move.CASTLE;
+            }
+            output.add(Move.of(from, to, 0, flags));
+        }
+    }
+    
+    /**
+     * Makes a packed move, which can be taken back with {@link #unmakeMove()}
+     * @param move a move packed as in {@link Move}
+     */
+    public void makeMove(int move) {
+        int promotion = Move.promotion(move);
+        makeMove(Move.fromSquare(move), Move.toSquare(move), 
+                (promotion == 0)?MoveRecorder.QUEEN:promotion);
+    }
+    
+    /**
+     * Determines every legal move of the piece on a square.<br>
+     * Checkers and pinned pieces are worked out once per position and side, 
+     * so no move has to be made to be tested. Handles double check, 
+     * en passant discovered checks and castling through check.
+     * @param square the square of the piece
+     * @return a bitboard of the squares the piece may move to
+     */
+    public long legalTargets(int square) {
+        if(!isValidSquare(square)) throw new IllegalArgumentException("Invalid square");
+        return pieceTargets(Bitboards.toIndex(square), ~0L);
+    }
+    
+    /**
+     * Determines the legal moves of the piece on a square that capture 
+     * something or promote a pawn, including captures en passant
+     * @param square the square of the piece
+     * @return a bitboard of the squares the piece may capture or promote on
+     */
+    public long legalCaptureTargets(int square) {
+        if(!isValidSquare(square)) throw new IllegalArgumentException("Invalid square");
+        int index = Bitboards.toIndex(square);
+        AbstractPiece ap = pieces[index];
+        if(ap == null) return 0;
+        return pieceTargets(index, captureSquares(ap.isWhite, ap.getPieceType()));
+    }
+    
+    /**
+     * Determines where a piece could capture something or promote
+     * @param isWhite whether the piece is white
+     * @param type which piece it is
+     * @return the squares of the enemy pieces, and for a pawn also the 
+     * row it promotes on and the en passant square
+     */
+    private long captureSquares(boolean isWhite, int type) {
+        long output = (isWhite)?blackOccupancy:whiteOccupancy;
+        if(type == MoveRecorder.PAWN) {
+            output |= (isWhite)?WHITE_PROMOTIONS:BLACK_PROMOTIONS;
+            if(enPassant != -1) output |= Bitboards.bit(Bitboards.toIndex(enPassant));
+        }
+        return output;
+    }
+    
+    /**
+     * Determines the legal moves of the piece on a square to some squares
+     * @param index the bit index of the piece
+     * @param wanted the squares to look at; the others are skipped
+     * @return a bitboard of the squares out of those the piece may move to
+     */
+    private long pieceTargets(int index, long wanted) {
+        AbstractPiece ap = pieces[index];
+        if(ap == null) return 0;
+        boolean isWhite = ap.isWhite;
+        updateMasks(isWhite);
+        long own = (isWhite)?whiteOccupancy:blackOccupancy, 
+                enemy = (isWhite)?blackOccupancy:whiteOccupancy;
+        int type = ap.getPieceType();
+        if(type == MoveRecorder.KING) return kingTargets(index, isWhite, own, wanted);
+        if(Long.bitCount(checkers) > 1) return 0;
+        
+        long targets;
+        switch(type) {
+            case MoveRecorder.PAWN:
+                long empty = ~occupancy;
+                if(isWhite) {
+                    targets = (Bitboards.bit(index) >>> 8) & empty;
+                    if((index >>> 3) == 6) targets |= (targets >>> 8) & empty;
+                } else {
+                    targets = (Bitboards.bit(index) << 8) & empty;
+                    if((index >>> 3) == 1) targets |= (targets << 8) & empty;
+                }
+                targets |= Attacks.pawn(index, isWhite) & enemy;
+                break;
+            case MoveRecorder.KNIGHT:
+                targets = Attacks.knight(index) & ~own;
+                break;
+            case MoveRecorder.BISHOP:
+                targets = Attacks.bishop(index, occupancy) & ~own;
+                break;
+            case MoveRecorder.ROOK:
+                targets = Attacks.rook(index, occupancy) & ~own;
+                break;
+            case MoveRecorder.QUEEN:
+                targets = Attacks.queen(index, occupancy) & ~own;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown piece");
+        }
+        targets &= checkMask & wanted;
+        if((pinned & Bitboards.bit(index)) != 0) targets &= pinRays[index];
+        if(type == MoveRecorder.PAWN && enPassantLegal(index, isWhite)) 
+            targets |= Bitboards.bit(Bitboards.toIndex(enPassant)) & wanted;
+        return targets;
+    }
+    
+    /**
+     * Works out the checkers, check mask and pinned pieces of one side, 
+     * unless they are already known for this position
+     * @param isWhite the side whose king to look at
+     */
+    private void updateMasks(boolean isWhite) {
+        if(masksValid && maskHash == hash && maskIsWhite == isWhite) return;
+        masksValid = true;
+        maskHash = hash;
+        maskIsWhite = isWhite;
+        checkers = 0;
+        checkMask = ~0L;
+        pinned = 0;
+        long kings = bitboards[bitboardIndex(MoveRecorder.KING, isWhite)];
+        if(kings == 0) {
+            maskKing = -1;
+            return;
+        }
+        int king = maskKing = Bitboards.first(kings);
+        if(pinRays == null) pinRays = new long[64];
+        long enemy = (isWhite)?blackOccupancy:whiteOccupancy;
+        
+        checkers = attackersTo(king, occupancy, !isWhite);
+        if(Long.bitCount(checkers) == 1) {
+            int checker = Bitboards.first(checkers);
+            checkMask = checkers | Attacks.between(king, checker);
+        } else if(checkers != 0) {
+            checkMask = 0;
+        }
+        
+        // enemy sliders that would see the king if our pieces were not there
+        long straight = bitboards[bitboardIndex(MoveRecorder.ROOK, !isWhite)] | 
+                bitboards[bitboardIndex(MoveRecorder.QUEEN, !isWhite)];
+        long diagonal = bitboards[bitboardIndex(MoveRecorder.BISHOP, !isWhite)] | 
+                bitboards[bitboardIndex(MoveRecorder.QUEEN, !isWhite)];
+        long snipers = (Attacks.rook(king, enemy) & straight) | 
+                (Attacks.bishop(king, enemy) & diagonal);
+        while(snipers != 0) {
+            int sniper = Bitboards.first(snipers);
+            snipers &= snipers - 1;
+            long ray = Attacks.between(king, sniper);
+            long blockers = ray & occupancy;
+            if(Long.bitCount(blockers) == 1 && (blockers & enemy) == 0) {
+                pinned |= blockers;
+                pinRays[Bitboards.first(blockers)] = ray | Bitboards.bit(sniper);
+            }
+        }
+    }
+    
+    /**
+     * Determines which pieces of one side attack a square
+     * @param index the bit index of the square
+     * @param occupied the squares to treat as occupied
+     * @param byWhite whether to look for white attackers
+     * @return a bitboard of the attackers
+     */
+    private long attackersTo(int index, long occupied, boolean byWhite) {
+        long queens = bitboards[bitboardIndex(MoveRecorder.QUEEN, byWhite)];
+        return (Attacks.pawn(index, !byWhite) & bitboards[bitboardIndex(MoveRecorder.PAWN, byWhite)]) | 
+                (Attacks.knight(index) & bitboards[bitboardIndex(MoveRecorder.KNIGHT, byWhite)]) | 
+                (Attacks.king(index) & bitboards[bitboardIndex(MoveRecorder.KING, byWhite)]) | 
+                (Attacks.bishop(index, occupied) & 
+                        (bitboards[bitboardIndex(MoveRecorder.BISHOP, byWhite)] | queens)) | 
+                (Attacks.rook(index, occupied) & 
+                        (bitboards[bitboardIndex(MoveRecorder.ROOK, byWhite)] | queens));
+    }
+    
+    /**
+     * Works out what a capture wins once every piece that can join in on 
+     * the square has, always taking back with the least valuable piece 
+     * first (static exchange evaluation).<br>
+     * Pieces behind the ones that capture are found as they are uncovered. 
+     * Either side may stop taking back when that is better for it, and a 
+     * king only takes back if nothing defends the square. Pins are 
+     * ignored.
+     * @param move a legal move of the side to move, packed as in {@link Move}
+     * @return what the side to move wins in centipawns, less than 0 if it 
+     * loses material
+     */
+    public int staticExchange(int move) {
+        int from = Move.from(move), to = Move.to(move), promotion = Move.promotion(move);
+        int[] gains = exchangeGains;
+        long occupied = occupancy ^ Bitboards.bit(from);
+        if((move & Move.EN_PASSANT) != 0) {
+            occupied ^= Bitboards.bit((from & ~7) | (to & 7));
+            gains[0] = EXCHANGE_VALUES[MoveRecorder.PAWN];
+        } else {
+            gains[0] = (pieces[to] == null)?0:EXCHANGE_VALUES[pieces[to].getPieceType()];
+        }
+        int onSquare = pieces[from].getPieceType();
+        if(promotion != 0) {
+            gains[0] += EXCHANGE_VALUES[promotion] - EXCHANGE_VALUES[MoveRecorder.PAWN];
+            onSquare = promotion;
+        }
+        long promotes = WHITE_PROMOTIONS | BLACK_PROMOTIONS;
+        // the sliders that can be uncovered behind the pieces that capture
+        long straight = bitboards[bitboardIndex(MoveRecorder.ROOK, true)] | 
+                bitboards[bitboardIndex(MoveRecorder.ROOK, false)] | 
+                bitboards[bitboardIndex(MoveRecorder.QUEEN, true)] | 
+                bitboards[bitboardIndex(MoveRecorder.QUEEN, false)];
+        long diagonal = bitboards[bitboardIndex(MoveRecorder.BISHOP, true)] | 
+                bitboards[bitboardIndex(MoveRecorder.BISHOP, false)] | 
+                bitboards[bitboardIndex(MoveRecorder.QUEEN, true)] | 
+                bitboards[bitboardIndex(MoveRecorder.QUEEN, false)];
+        long attackers = (attackersTo(to, occupied, true) | attackersTo(to, occupied, false)) 
+                & occupied;
+        boolean side = !pieces[from].isWhite;
+        int d = 0;
+        while(true) {
+            long mine = attackers & ((side)?whiteOccupancy:blackOccupancy);
+            if(mine == 0) break;
+            int type = MoveRecorder.PAWN;
+            long least = mine & bitboards[bitboardIndex(type, side)];
+            while(least == 0) {
+                type++;
+                least = mine & bitboards[bitboardIndex(type, side)];
+            }
+            // a king cannot take a defended piece
+            if(type == MoveRecorder.KING && (attackers & ~mine) != 0) break;
+            d++;
+            gains[d] = EXCHANGE_VALUES[onSquare] - gains[d - 1];
+            onSquare = type;
+            if(type == MoveRecorder.PAWN && (promotes & Bitboards.bit(to)) != 0) {
+                gains[d] += EXCHANGE_VALUES[MoveRecorder.QUEEN] - EXCHANGE_VALUES[MoveRecorder.PAWN];
+                onSquare = MoveRecorder.QUEEN;
+            }
+            occupied ^= least & -least;
+            attackers = (attackers | (Attacks.rook(to, occupied) & straight) | 
+                    (Attacks.bishop(to, occupied) & diagonal)) & occupied;
+            side = !side;
+        }
+        while(d > 0) {
+            gains[d - 1] = -Math.max(-gains[d - 1], gains[d]);
+            d--;
+        }
+        return gains[0];
+    }
+    
+    /**
+     * Determines the legal moves of a king, including castling
+     * @param index the bit index of the king
+     * @param isWhite whether the king is white
+     * @param own the squares of the king's own pieces
+     * @param wanted the squares to look at; the others are skipped
+     * @return a bitboard of the squares out of those the king may move to
+     */
+    private long kingTargets(int index, boolean isWhite, long own, long wanted) {
+        long targets = 0, candidates = Attacks.king(index) & ~own & wanted;
+        // the king must not hide behind itself from a slider
+        long withoutKing = occupancy & ~Bitboards.bit(index);
+        while(candidates != 0) {
+            int to = Bitboards.first(candidates);
+            candidates &= candidates - 1;
+            if(attackersTo(to, withoutKing, !isWhite) == 0) targets |= Bitboards.bit(to);
+        }
+        
+        // CASTLING
+        int row = (isWhite)?7:0;
+        if(checkers != 0 || index != Bitboards.toIndex(4, row)) return targets;
+        if((wanted & (Bitboards.bit(index + 2) | Bitboards.bit(index - 2))) == 0) return targets;
+        long rooks = bitboards[bitboardIndex(MoveRecorder.ROOK, isWhite)];
+        // 5, 6, Kingside
+        if(canCastle(isWhite, true) && (rooks & Bitboards.bit(Bitboards.toIndex(7, row))) != 0 && 
+                (occupancy & (Bitboards.bit(index + 1) | Bitboards.bit(index + 2))) == 0 && 
+                attackersTo(index + 1, occupancy, !isWhite) == 0 && 
+                attackersTo(index + 2, occupancy, !isWhite) == 0) {
+            targets |= Bitboards.bit(index + 2);
+        }
+        // 1, 2, 3, Queenside
+        if(canCastle(isWhite, false) && (rooks & Bitboards.bit(Bitboards.toIndex(0, row))) != 0 && 
+                (occupancy & (Bitboards.bit(index - 1) | Bitboards.bit(index - 2) | 
+                        Bitboards.bit(index - 3))) == 0 && 
+                attackersTo(index - 1, occupancy, !isWhite) == 0 && 
+                attackersTo(index - 2, occupancy, !isWhite) == 0) {
+            targets |= Bitboards.bit(index - 2);
+        }
+        return targets & wanted;
+    }
+    
+    /**
+     * Determines whether a pawn may capture en passant.<br>
+     * The pawn it captures leaves the board too, which can uncover a check 
+     * along the rank, so this is tested with the occupancy after the capture.
+     * @param index the bit index of the pawn
+     * @param isWhite whether the pawn is white
+     * @return whether capturing en passant is legal
+     */
+    private boolean enPassantLegal(int index, boolean isWhite) {
+        if(enPassant == -1 || enPassant%10 != ((isWhite)?2:5)) return false;
+        int target = Bitboards.toIndex(enPassant);
+        if((Attacks.pawn(index, isWhite) & Bitboards.bit(target)) == 0) return false;
+        if(maskKing == -1) return true;
+        long captured = Bitboards.bit(Bitboards.toIndex(enPassant/10, index >>> 3));
+        long after = (occupancy ^ Bitboards.bit(index) ^ captured) | Bitboards.bit(target);
+        return (attackersTo(maskKing, after, !isWhite) & ~captured) == 0;
+    }
+    
+    /**
+     * Moves a piece from fromWhere to toWhere
+     * @param fromWhere from where a piece is moved
+     * @param toWhere where to move a piece
+     */
+    public void movePiece(int fromWhere, int toWhere) {
+        movePiece(
+                fromWhere/10, 
+                fromWhere%10, 
+                toWhere/10, 
+                toWhere%10
+        );
+    }
+    
+    /**
+     * Moves a piece from fromWhere(X, Y) to toWhere(X, Y)
+     * @param fromWhereX from where a piece is moved
+     * @param fromWhereY from where a piece is moved
+     * @param toWhereX where to move a piece
+     * @param toWhereY where to move a piece
+     */
+    public void movePiece(int fromWhereX, int fromWhereY, int toWhereX, int toWhereY) {
+        if(isEmptySquare(fromWhereX, fromWhereY)) return;
+        int fromWhere = toSquare(fromWhereX, fromWhereY), 
+                toWhere = toSquare(toWhereX, toWhereY);
+        if(!isLegalMove(fromWhere, toWhere)) 
+            throw new IllegalArgumentException("Illegal move: " + fromWhere + " " + toWhere);
+        MoveRecorder recorder = recorder();
+        int move = recordedMove(fromWhere, toWhere, MoveRecorder.QUEEN);
+        makeMove(fromWhere, toWhere);
+        recalculateMoves();
+        recorder.record(move, this);
+    }
+    
+    /**
+     * Makes a move, promoting to a queen if a pawn reaches the last rank.<br>
+     * The move can be taken back with {@link #unmakeMove()}.
+     * @param fromWhere from where a piece is moved
+     * @param toWhere where to move a piece
+     */
+    public void makeMove(int fromWhere, int toWhere) {
+        makeMove(fromWhere, toWhere, MoveRecorder.QUEEN);
+    }
+    
+    /**
+     * Makes a move, which can be taken back with {@link #unmakeMove()}.<br>
+     * Handles captures, castling, en passant and promotion, updates the 
+     * castling rights and the en passant square, and hands the turn to the 
+     * other side. Nothing is copied or allocated unless the undo stack 
+     * has to grow.
+     * @param fromWhere from where a piece is moved
+     * @param toWhere where to move a piece
+     * @param toWhatPiece what a pawn promotes to if it reaches the last rank
+     */
+    public void makeMove(int fromWhere, int toWhere, int toWhatPiece) {
+        int from = Bitboards.toIndex(fromWhere), to = Bitboards.toIndex(toWhere);
+        AbstractPiece moving = pieces[from];
+        if(moving == null) throw new IllegalArgumentException("No piece on " + fromWhere);
+        if(toWhatPiece < MoveRecorder.KNIGHT || toWhatPiece > MoveRecorder.QUEEN) 
+            throw new IllegalArgumentException("Cannot promote to " + toWhatPiece);
+        if(undoSize == undoMoves.length) growUndoStack();
+        
+        int capturedAt = to, castled = 0;
+        int type = moving.getPieceType();
+        if(type == MoveRecorder.PAWN && toWhere == enPassant && pieces[to] == null) {
+            // en passant: the captured pawn is beside the moving one
+            capturedAt = Bitboards.toIndex(toWhere/10, fromWhere%10);
+        }
+        
+        undoMoved[undoSize] = moving;
+        undoStates[undoSize] = castling | ((enPassant + 1) << 4) | 
+                ((long) halfmoveClock << 11) | ((long) fiftyMoveClock << 40);
+        undoHashes[undoSize] = hash;
+        hash ^= stateHash();
+        undoCaptured[undoSize] = removePiece(capturedAt);
+        
+        removePiece(from);
+        if(type == MoveRecorder.PAWN && (toWhere%10 == 0 || toWhere%10 == 7)) {
+            putPiece(AbstractPiece.getInstance(toWhatPiece, moving.isWhite), to);
+        } else {
+            putPiece(moving, to);
+        }
+        
+        enPassant = -1;
+        if(type == MoveRecorder.PAWN && Math.abs(fromWhere%10 - toWhere%10) == 2) {
+            enPassant = toSquare(fromWhere/10, (fromWhere%10 + toWhere%10)/2);
+        } else if(type == MoveRecorder.KING && Math.abs(fromWhere/10 - toWhere/10) == 2) {
+            castled = 1;
+            moveCastlingRook(fromWhere, toWhere, false);
+        }
+        int rights = castling;
+        castling &= CASTLING_MASKS[from] & CASTLING_MASKS[to];
+        if(type == MoveRecorder.PAWN || undoCaptured[undoSize] != null || rights != castling) {
+            halfmoveClock = 0;
+        } else halfmoveClock++;
+        if(type == MoveRecorder.PAWN || undoCaptured[undoSize] != null) {
+            fiftyMoveClock = 0;
+        } else fiftyMoveClock++;
+        if(!playerIsWhite) fullmoveNumber++;
+        playerIsWhite = !playerIsWhite;
+        hash ^= stateHash();
+        undoMoves[undoSize++] = from | (to << 6) | (capturedAt << 12) | (castled << 18);
+    }
+    
+    /**
+     * Takes back the last move made with {@link #makeMove(int, int, int)}, 
+     * restoring any captured piece, the castling rights, the en passant 
+     * square and whose turn it is.
+     */
+    public void unmakeMove() {
+        if(undoSize == undoFloor) throw new IllegalStateException("No moves to take back");
+        int move = undoMoves[--undoSize];
+        int from = move & 63, to = (move >>> 6) & 63, capturedAt = (move >>> 12) & 63;
+        
+        removePiece(to);
+        putPiece(undoMoved[undoSize], from);
+        if(undoCaptured[undoSize] != null) {
+            putPiece(undoCaptured[undoSize], capturedAt);
+        }
+        if((move >>> 18) != 0) {
+            moveCastlingRook(Bitboards.toSquare(from), Bitboards.toSquare(to), true);
+        }
+        
+        long state = undoStates[undoSize];
+        castling = (int) state & 15;
+        enPassant = (int) ((state >>> 4) & 127) - 1;
+        halfmoveClock = (int) ((state >>> 11) & 0x1FFFFFFFL);
+        fiftyMoveClock = (int) (state >>> 40);
+        hash = undoHashes[undoSize];
+        playerIsWhite = !playerIsWhite;
+        if(!playerIsWhite) fullmoveNumber--;
+        undoMoved[undoSize] = null;
+        undoCaptured[undoSize] = null;
+    }
+    
+    /**
+     * Moves the rook that goes with a castling king
+     * @param kingFrom from where the king castled
+     * @param kingTo to where the king castled
+     * @param undo whether to put the rook back instead
+     */
+    private void moveCastlingRook(int kingFrom, int kingTo, boolean undo) {
+        int row = kingFrom%10;
+        int corner, beside;
+        if(kingFrom < kingTo) {
+            // Castling Kingside
+            corner = Bitboards.toIndex(7, row);
+            beside = Bitboards.toIndex(kingTo/10 - 1, row);
+        } else {
+            // Castling Queenside
+            corner = Bitboards.toIndex(0, row);
+            beside = Bitboards.toIndex(kingTo/10 + 1, row);
+        }
+        AbstractPiece rook = removePiece((undo)?beside:corner);
+        if(rook != null) putPiece(rook, (undo)?corner:beside);
+    }
+    
+    /**
+     * Doubles the size of the undo stack
+     */
+    private void growUndoStack() {
+        int size = Math.max(UNDO_CAPACITY, undoMoves.length * 2);
+        undoMoves = Arrays.copyOf(undoMoves, size);
+        undoMoved = Arrays.copyOf(undoMoved, size);
+        undoCaptured = Arrays.copyOf(undoCaptured, size);
+        undoStates = Arrays.copyOf(undoStates, size);
+        undoHashes = Arrays.copyOf(undoHashes, size);
+    }
+    
+    /**
+     * Determines whether one side may still castle one way.<br>
+     * Only looks at whether the king and rook have moved, not at checks.
+     * @param isWhite whether the side is white
+     * @param kingSide whether to castle kingside or queenside
+     * @return whether that castling right is still there
+     */
+    public boolean canCastle(boolean isWhite, boolean kingSide) {
+        int right;
+        if(isWhite) {
+            right = (kingSide)?WHITE_KINGSIDE:WHITE_QUEENSIDE;
+        } else {
+            right = (kingSide)?BLACK_KINGSIDE:BLACK_QUEENSIDE;
+        }
+        return (castling & right) != 0;
+    }
+    
+    /**
+     * Returns which castling moves are still allowed
+     * @return a combination of the castling constants
+     */
+    public int getCastlingRights() {
+        return castling;
+    }
+    
+    /**
+     * Used to check whether this move is legal
+     * @param fromWhere from where to move a piece
+     * @param toWhere to where to move a piece
+     * @deprecated use {@link #makeMove(int, int)} and {@link #unmakeMove()}
+     */
+    @Deprecated
+    public void maybeMove(int fromWhere, int toWhere) {
+        maybeMove(
+                fromWhere/10, fromWhere%10, 
+                toWhere/10, toWhere%10
+        );
+    }
+    
+    /**
+     * Used to check whether this move is legal
+     * @param fromWhereX from which column to move a piece
+     * @param fromWhereY from which row to move a piece
+     * @param toWhereX to which column to move a piece
+     * @param toWhereY to which row to move a piece
+     * @deprecated use {@link #makeMove(int, int)} and {@link #unmakeMove()}
+     */
+    @Deprecated
+    public void maybeMove(int fromWhereX, int fromWhereY, int toWhereX, int toWhereY) {
+        int from = Bitboards.toIndex(fromWhereX, fromWhereY), 
+                to = Bitboards.toIndex(toWhereX, toWhereY);
+        if(pieces[from].getPieceType() == MoveRecorder.KING) {
+            if(Math.abs(fromWhereX-toWhereX) == 2 && fromWhereY == toWhereY) {
+                // Castling
+                AbstractPiece rook;
+                if(fromWhereX < toWhereX) {
+                    // Castling Kingside
+                    rook = removePiece(Bitboards.toIndex(7, fromWhereY));
+                    if(rook != null) putPiece(rook, Bitboards.toIndex(toWhereX-1, toWhereY));
+                } else {
+                    // Castling Queenside
+                    rook = removePiece(Bitboards.toIndex(0, fromWhereY));
+                    if(rook != null) putPiece(rook, Bitboards.toIndex(toWhereX+1, toWhereY));
+                }
+            }
+        } else if((toWhereX * 10 + toWhereY) == enPassant) {
+            removePiece(Bitboards.toIndex(enPassant/10, enPassant%10+(fromWhereY-toWhereY)));
+        }
+        
+        removePiece(to);
+        putPiece(removePiece(from), to);
+    }
+    
+    /**
+     * Promotes a pawn
+     * @param fromWhere from where to promote
+     * @param toWhere to where to promote
+     * @param toWhatPiece to what piece to promote to
+     */
+    public void promotePiece(int fromWhere, int toWhere, int toWhatPiece) {
+        if(!getPiece(fromWhere).getCharRepresentation().equals("P")) 
+            assert false : "Cannot promote a non-pawn";
+        switch(toWhatPiece) {
+            case MoveRecorder.BISHOP:
+            case MoveRecorder.KNIGHT:
+            case MoveRecorder.QUEEN:
+            case MoveRecorder.ROOK:
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown piece" + toWhatPiece);
+        }
+        if(!isLegalMove(fromWhere, toWhere)) 
+            throw new IllegalArgumentException("Illegal move: " + fromWhere + " " + toWhere);
+        MoveRecorder recorder = recorder();
+        int move = recordedMove(fromWhere, toWhere, toWhatPiece);
+        makeMove(fromWhere, toWhere, toWhatPiece);
+        recalculateMoves();
+        recorder.record(move, this);
+    }
+    
+    /**
+     * Takes back the last move made with {@link #movePiece(int, int)} or 
+     * {@link #promotePiece(int, int, int)}, along with its record in the 
+     * MoveRecorder, such as when the server turned the move down
+     * @throws IllegalStateException if there is no move to take back
+     */
+    public void takeBackMove() {
+        unmakeMove();
+        if(mr != null) mr.takeBack();
+        recalculateMoves();
+    }
+    
+    /**
+     * DO NOT USE OFTEN <br>
+     * Places a piece somewhere
+     * @param ap a piece to place
+     * @param where where to place the piece
+     * @deprecated since it is not needed
+     */
+    @Deprecated
+    public void placePiece(AbstractPiece ap, int where) {
+        placePiece(ap, where/10, where%10);
+    }
+    
+    /**
+     * DO NOT USE OFTEN <br>
+     * Places a piece somewhere
+     * @param ap a piece to place
+     * @param col the column to place the piece in
+     * @param row the row to place the piece in
+     * @deprecated since it is not needed
+     */
+    @Deprecated
+    public void placePiece(AbstractPiece ap, int col, int row) {
+        int index = Bitboards.toIndex(col, row);
+        removePiece(index);
+        if(ap != null) putPiece(ap, index);
+    }
+    
+    /**
+     * Determines whether one side's king is in check
+     * @param isWhite whether the side to check is white (PUN INTENDED)
+     * @return whether the side is in check
+     */
+    public boolean inCheck(boolean isWhite) {
+        int kingAt = getKingSquare(isWhite);
+        if(kingAt == -1) return false;
+        return isSquareAttacked(kingAt, !isWhite);
+    }
+    
+    /**
+     * Determines whether a square is attacked by one side.<br>
+     * Works backwards from the square: a knight, pawn or king that could 
+     * reach it from there, or a slider on one of its lines, is an attacker.
+     * @param square the square to check
+     * @param byWhite whether to look for white attackers
+     * @return whether any piece of that side attacks the square
+     */
+    public boolean isSquareAttacked(int square, boolean byWhite) {
+        if(!isValidSquare(square)) throw new IllegalArgumentException("Invalid square");
+        return attackersTo(Bitboards.toIndex(square), occupancy, byWhite) != 0;
+    }
+    
+    /**
+     * Determines whether the king is checkmated
+     * @param isWhite whether the side to check is white (PUN INTENDED)
+     * @return whether the side is checkmated
+     */
+    public boolean checkMated(boolean isWhite) {
+        return inCheck(isWhite) && !hasLegalMove(isWhite);
+    }
+    
+    /**
+     * Determines whether one side is stalemated
+     * @param isWhite whether the side to check is white
+     * @return whether one side is stalemated
+     */
+    public boolean stalemated(boolean isWhite) {
+        return !inCheck(isWhite) && !hasLegalMove(isWhite);
+    }
+    
+    /**
+     * Determines whether one side has any legal move.<br>
+     * For the side to move, this is answered from the cached legal moves.
+     * @param isWhite whether the side to check is white
+     * @return whether the side can move
+     */
+    private boolean hasLegalMove(boolean isWhite) {
+        if(isWhite == playerIsWhite) {
+            ensureMoves();
+            return !allLegalMoves.isEmpty();
+        }
+        long own = (isWhite)?whiteOccupancy:blackOccupancy;
+        while(own != 0) {
+            int index = Bitboards.first(own);
+            own &= own - 1;
+            if(legalTargets(Bitboards.toSquare(index)) != 0) return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Determines whether either side has insufficient material to checkmate
+     * @return whether either side has insufficient material to checkmate
+     */
+    public boolean insufficientMaterial() {
+        for(boolean isWhite : COLORS) {
+            if(pieceCounts[bitboardIndex(MoveRecorder.PAWN, isWhite)] != 0 || 
+                    pieceCounts[bitboardIndex(MoveRecorder.ROOK, isWhite)] != 0 || 
+                    pieceCounts[bitboardIndex(MoveRecorder.QUEEN, isWhite)] != 0 || 
+                    pieceCounts[bitboardIndex(MoveRecorder.KNIGHT, isWhite)] > 1) 
+                return false;
+        }
+        final long whiteBishops = bitboards[bitboardIndex(MoveRecorder.BISHOP, true)], 
+                blackBishops = bitboards[bitboardIndex(MoveRecorder.BISHOP, false)];
+        final boolean noBW = (whiteBishops & LIGHT_SQUARES) == 0, 
+                noBB = (whiteBishops & ~LIGHT_SQUARES) == 0, 
+                noN = pieceCounts[bitboardIndex(MoveRecorder.KNIGHT, true)] == 0;
+        final boolean nobw = (blackBishops & LIGHT_SQUARES) == 0, 
+                nobb = (blackBishops & ~LIGHT_SQUARES) == 0, 
+                non = pieceCounts[bitboardIndex(MoveRecorder.KNIGHT, false)] == 0;
+        final boolean whiteBare = noBW && noBB && noN;
+        final boolean blackBare = nobw && nobb && non;
+        return (whiteBare && blackBare) || 
+                (noN && non && ((noBB && nobb) || (noBW && nobw))) ||
+                (blackBare && noN && (noBW || noBB)) || 
+                (blackBare && noBB && noBW && !noN) || 
+                (whiteBare && non && (nobw || nobb)) || 
+                (whiteBare && nobb && nobw && !non);
+    }
+    
+    /**
+     * Determines whether the game is over, and if so, how.<br>
+     * Uses the legal moves from {@link #recalculateMoves()} (recalculating 
+     * them only if the position has changed since) and the checkers found 
+     * along with them, so the board is only looked at once.
+     * @return the status of the game
+     */
+    public GameStatus gameStatus() {
+        ensureMoves();
+        updateMasks(playerIsWhite);
+        if(allLegalMoves.isEmpty()) {
+            if(checkers == 0) return GameStatus.STALEMATE;
+            return (playerIsWhite)?GameStatus.BLACK_CHECKMATES:GameStatus.WHITE_CHECKMATES;
+        }
+        if(insufficientMaterial()) return GameStatus.INSUFFICIENT_MATERIAL;
+        if(is50MoveDraw()) return GameStatus.FIFTY_MOVE_DRAW;
+        if(threeFoldRep()) return GameStatus.THREEFOLD_REPETITION;
+        return GameStatus.ONGOING;
+    }
+    
+    /**
+     * Determines whether the current state of the game is a draw
+     * @param isWhite the side to check for stalemates
+     * @return whether the game is a draw
+     */
+    public boolean isDraw(boolean isWhite) {
+        return insufficientMaterial() || stalemated(isWhite) || is50MoveDraw() || threeFoldRep();
+    }
+    
+    /**
+     * Determines whether there is threefold repetition
+     * @return whether there is threefold repetition
+     */
+    public boolean threeFoldRep() {
+        return repetitions() >= 2;
+    }
+    
+    /**
+     * Determines how many times the current position has appeared before.<br>
+     * Only looks back as far as the last irreversible move, and only at 
+     * positions with the same side to move.
+     * @return how many times the current position has appeared before
+     */
+    public int repetitions() {
+        int count = 0;
+        int oldest = Math.max(0, undoSize - halfmoveClock);
+        for(int i = undoSize - 2; i >= oldest; i -= 2) {
+            if(undoHashes[i] == hash) count++;
+        }
+        return count;
+    }
+    
+    /**
+     * Determines whether the game has been drawn by 50 move draw: 
+     * 50 moves by each side without a pawn move or a capture
+     * @return whether the game has been drawn by 50 move draw
+     */
+    public boolean is50MoveDraw() {
+        return fiftyMoveClock >= 100;
+    }
+    
+    /**
+     * Determines whether a square is white
+     * @param square the square to check
+     * @return whether the square is white
+     */
+    public static boolean isSquareWhite(int square) {
+        return isSquareWhite(square/10, square%10);
+    }
+    
+    /**
+     * Determines whether a square is white
+     * @param col the column of the square to check
+     * @param row the row of the square to check
+     * @return whether the square is white
+     */
+    public static boolean isSquareWhite(int col, int row) {
+        return (col+row)%2==0;
+    }
+    
+    /**
+     * Determines where all of the pieces which fit the criteria
+     * @param whichPiece which piece, determined by the number
+     * @param isWhite whether the piece is white
+     * @return where all of the pieces are
+     */
+    public ArrayList<Integer> findAll(int whichPiece, boolean isWhite) {
+        if(whichPiece < MoveRecorder.PAWN || whichPiece > MoveRecorder.KING)
+            throw new IllegalArgumentException("Unknown piece type: " + whichPiece);
+        ArrayList<Integer> output = new ArrayList<>();
+        long found = bitboards[bitboardIndex(whichPiece, isWhite)];
+        while(found != 0) {
+            output.add(Bitboards.toSquare(Bitboards.first(found)));
+            found &= found - 1;
+        }
+        return output;
+    }
+    
+    /**
+     * Returns all of the occupied squares
+     * @return the occupancy bitboard
+     */
+    public long getOccupancy() {
+        return occupancy;
+    }
+    
+    /**
+     * Returns all of the squares occupied by one side
+     * @param isWhite whether the side is white
+     * @return the occupancy bitboard of that side
+     */
+    public long getOccupancy(boolean isWhite) {
+        return (isWhite)?whiteOccupancy:blackOccupancy;
+    }
+    
+    /**
+     * Returns how many pieces which fit the criteria are on the board
+     * @param whichPiece which piece, determined by the number
+     * @param isWhite whether the piece is white
+     * @return how many of those pieces there are
+     */
+    public int getPieceCount(int whichPiece, boolean isWhite) {
+        return pieceCounts[bitboardIndex(whichPiece, isWhite)];
+    }
+    
+    /**
+     * Returns the middlegame worth of the pieces on the board
+     * @return the sum of {@link Evaluation#middlegame(int, int)} over 
+     * every piece, from white
+     */
+    int middlegameScore() {
+        return middlegame;
+    }
+    
+    /**
+     * Returns the endgame worth of the pieces on the board
+     * @return the sum of {@link Evaluation#endgame(int, int)} over every 
+     * piece, from white
+     */
+    int endgameScore() {
+        return endgame;
+    }
+    
+    /**
+     * Returns the phase of the game
+     * @return the sum of {@link Evaluation#phase(int)} over every piece, 
+     * which is {@link Evaluation#MAX_PHASE} at the start and can only go 
+     * past it through promotions
+     */
+    int gamePhase() {
+        return phase;
+    }
+    
+    /**
+     * Returns where all of the pieces which fit the criteria are
+     * @param whichPiece which piece, determined by the number
+     * @param isWhite whether the piece is white
+     * @return the bitboard of those pieces
+     */
+    public long getBitboard(int whichPiece, boolean isWhite) {
+        return bitboards[bitboardIndex(whichPiece, isWhite)];
+    }
+    
+    /**
+     * Determines where one side's king is
+     * @param isWhite whether the king to find is white
+     * @return the square of the king, and if none, -1
+     */
+    public int getKingSquare(boolean isWhite) {
+        long king = bitboards[bitboardIndex(MoveRecorder.KING, isWhite)];
+        return (king == 0)?-1:Bitboards.toSquare(Bitboards.first(king));
+    }
+    
+    /**
+     * Refinds both kings.
+     * @deprecated the kings are always found through their bitboards
+     */
+    @Deprecated
+    public void resetKingPos() {
+        assert getKingSquare(true) != -1 : "Cannot find white king";
+        assert getKingSquare(false) != -1 : "Cannot find black king";
+    }
+    
+    /**
+     * Refinds only one king.
+     * @param isWhite whether the king to find again is white
+     * @deprecated the kings are always found through their bitboards
+     */
+    @Deprecated
+    public void resetKingPos(boolean isWhite) {
+    }
+
+    /**
+     * Determines which square is open for en passant
+     * @return which square is open for en passant, or -1 if none is
+     */
+    public int getEnPassant() {
+        return enPassant;
+    }
+
+    /**
+     * Returns the current player
+     * @return the current player
+     */
+    public boolean currentPlayer() {
+        return playerIsWhite;
+    }
+
+    /**
+     * Returns the board of AbstractPieces
+     * @return the board of AbstractPieces
+     */
+    public AbstractPiece[][] getBoard() {
+        AbstractPiece[][] board = new AbstractPiece[8][8];
+        for(int i = 0; i < pieces.length; i++) {
+            board[i & 7][i >>> 3] = pieces[i];
+        }
+        return board;
+    }
+    
+    /**
+     * Rotates a square 180 degrees.
+     * @param s the square to rotate
+     * @return the resulting square
+     */
+    public int rotateSquare180(int s) {
+        return rotateSquare180(s/10, s%10);
+    }
+    
+    /**
+     * Rotates a square 180 degrees.
+     * @param x the x position of the square to rotate
+     * @param y the y position of the square to rotate
+     * @return the resulting square
+     */
+    public int rotateSquare180(int x, int y) {
+        int output = toSquare(7-x, 7-y);
+        return (isValidSquare(output))? output : null;
+    }
+
+    /**
+     * DO NOT USE OFTEN <br>
+     * Sets this board to a new state
+     * @param board the board to set to
+     */
+    public void setBoard(AbstractPiece[][] board) {
+        clearPieces();
+        for(int i = 0; i < board.length; i++) {
+            for(int j = 0; j < board[i].length; j++) {
+                if(board[i][j] != null) putPiece(board[i][j], Bitboards.toIndex(i, j));
+            }
+        }
+        rehash();
+    }
+    
+    /**
+     * Prints the current state of the chess board.
+     */
+    public void printBoard() {
+        for(int i = 0;i<8;i++) {
+            for(int j = 0;j<8;j++) {
+                AbstractPiece ap = pieces[Bitboards.toIndex(j, i)];
+                if(ap == null) {
+                    System.out.print(" ");
+                } else if(ap.isWhite) {
+                    System.out.print(ap.getCharRepresentation());
+                } else {
+                    System.out.print(ap.getCharRepresentation().toLowerCase());
+                }
+            }
+            System.out.println();
+        }
+    }
+    
+    /**
+     * Prints all of the current moves.
+     */
+    public void printMoves() {
+        System.out.println(recorder().toString());
+    }
+    
+    /**
+     * Returns a miniature of this chess board: where the pieces are, 
+     * written as the first field of a FEN
+     * @return a miniature of this chess board
+     */
+    public String miniFEN() {
+        return appendPlacement(new StringBuilder(72)).toString();
+    }
+    
+    /**
+     * Writes where the pieces are, from rank 8 down, as in a FEN
+     * @param sb where to write it
+     * @return sb
+     */
+    private StringBuilder appendPlacement(StringBuilder sb) {
+        int blanks = 0;
+        // the bit indices already run from a8 to h1, rank by rank
+        for(int i = 0; i < pieces.length; i++) {
+            AbstractPiece piece = pieces[i];
+            if(piece == null) {
+                blanks++;
+            } else {
+                if(blanks != 0) sb.append((char) ('0' + blanks));
+                blanks = 0;
+                sb.append(FEN_PIECES[bitboardIndex(piece.getPieceType(), piece.isWhite)]);
+            }
+            if((i & 7) == 7) {
+                if(blanks != 0) sb.append((char) ('0' + blanks));
+                blanks = 0;
+                if(i != 63) sb.append('/');
+            }
+        }
+        return sb;
+    }
+    
+    /**
+     * Returns the FEN of the current position
+     * @return the position in Forsyth-Edwards Notation
+     */
+    public String toFEN() {
+        return appendFEN(new StringBuilder(90)).toString();
+    }
+    
+    /**
+     * Writes the FEN of the current position
+     * @param sb where to write it
+     * @return sb
+     */
+    public StringBuilder appendFEN(StringBuilder sb) {
+        appendPlacement(sb).append(' ').append((playerIsWhite)?'w':'b').append(' ');
+        if(castling == 0) sb.append('-');
+        if((castling & WHITE_KINGSIDE) != 0) sb.append('K');
+        if((castling & WHITE_QUEENSIDE) != 0) sb.append('Q');
+        if((castling & BLACK_KINGSIDE) != 0) sb.append('k');
+        if((castling & BLACK_QUEENSIDE) != 0) sb.append('q');
+        sb.append(' ');
+        if(enPassant == -1) {
+            sb.append('-');
+        } else {
+            sb.append((char) ('a' + enPassant/10)).append((char) ('8' - enPassant%10));
+        }
+        return sb.append(' ').append(fiftyMoveClock).append(' ').append(fullmoveNumber);
+    }
+    
+    /**
+     * Sets this board to the position in a FEN
+     * @param fen the position, in Forsyth-Edwards Notation
+     * @throws IllegalArgumentException if the FEN cannot be read
+     * @see #loadFEN(CharSequence, int, int)
+     */
+    public void loadFEN(CharSequence fen) {
+        loadFEN(fen, 0, fen.length());
+    }
+    
+    /**
+     * Sets this board to the position in a FEN stored as ASCII bytes, as 
+     * read from a file or a socket
+     * @param fen the bytes holding the FEN
+     * @param offset where the FEN starts
+     * @param length how many bytes long the FEN is
+     * @throws IllegalArgumentException if the FEN cannot be read
+     * @see #loadFEN(CharSequence, int, int)
+     */
+    public void loadFEN(byte[] fen, int offset, int length) {
+        if(offset < 0 || length < 0 || offset + length > fen.length) 
+            throw new IndexOutOfBoundsException("No bytes " + offset + " to " + (offset + length));
+        loadFEN(new AsciiSequence(fen, offset, length), 0, length);
+    }
+    
+    /**
+     * Sets this board to the position in part of a CharSequence holding a 
+     * FEN, reading it in place.<br>
+     * The clocks may be left out, as in an EPD, and are then 0 and 1. 
+     * Castling rights whose king or rook is not on its square and an en 
+     * passant square that no pawn has just skipped are dropped. The undo 
+     * stack is emptied and any moves recorded are dropped.<br>
+     * If the FEN cannot be read, this board is set to the starting 
+     * position instead.
+     * @param fen holds the position, in Forsyth-Edwards Notation
+     * @param start the index where the FEN starts
+     * @param end the index after the last character of the FEN
+     * @throws IllegalArgumentException if the FEN cannot be read
+     */
+    public void loadFEN(CharSequence fen, int start, int end) {
+        if(start < 0 || start > end || end > fen.length()) 
+            throw new IndexOutOfBoundsException("No characters " + start + " to " + end);
+        mr = null;
+        forgetHistory();
+        try {
+            parseFEN(fen, start, end);
+        } catch(IllegalArgumentException e) {
+            clearPieces();
+            addPieces();
+            playerIsWhite = true;
+            castling = WHITE_KINGSIDE | WHITE_QUEENSIDE | BLACK_KINGSIDE | BLACK_QUEENSIDE;
+            enPassant = -1;
+            halfmoveClock = fiftyMoveClock = 0;
+            fullmoveNumber = 1;
+            rehash();
+            throw e;
+        }
+    }
+    
+    /**
+     * Reads a FEN into this board
+     * @param fen holds the position, in Forsyth-Edwards Notation
+     * @param i the index where the FEN starts
+     * @param end the index after the last character of the FEN
+     */
+    private void parseFEN(CharSequence fen, int i, int end) {
+        clearPieces();
+        i = skipSpaces(fen, i, end);
+        int col = 0, row = 0;
+        for(; i < end && fen.charAt(i) != ' '; i++) {
+            char c = fen.charAt(i);
+            if(c == '/') {
+                if(col != 8 || row == 7) throw badFEN(fen, "a rank is not 8 squares long");
+                col = 0;
+                row++;
+            } else if(c >= '1' && c <= '8') {
+                col += c - '0';
+                if(col > 8) throw badFEN(fen, "a rank is not 8 squares long");
+            } else {
+                int piece = fenPiece(c);
+                if(piece == -1) throw badFEN(fen, "there is no piece " + c);
+                if(col == 8) throw badFEN(fen, "a rank is not 8 squares long");
+                putPiece(AbstractPiece.getInstance(piece % 6, piece < 6), Bitboards.toIndex(col++, row));
+            }
+        }
+        if(col != 8 || row != 7) throw badFEN(fen, "there are not 8 ranks");
+        if(pieceCounts[bitboardIndex(MoveRecorder.KING, true)] != 1 || 
+                pieceCounts[bitboardIndex(MoveRecorder.KING, false)] != 1) 
+            throw badFEN(fen, "each side needs one king");
+        
+        i = skipSpaces(fen, i, end);
+        char side = (i < end)?fen.charAt(i++):' ';
+        if(side != 'w' && side != 'b') throw badFEN(fen, "no side to move");
+        playerIsWhite = side == 'w';
+        
+        i = skipSpaces(fen, i, end);
+        castling = 0;
+        if(i < end && fen.charAt(i) == '-') {
+            i++;
+        } else {
+            for(; i < end && fen.charAt(i) != ' '; i++) {
+                switch(fen.charAt(i)) {
+                    case 'K':
+                        castling |= WHITE_KINGSIDE;
+                        break;
+                    case 'Q':
+                        castling |= WHITE_QUEENSIDE;
+                        break;
+                    case 'k':
+                        castling |= BLACK_KINGSIDE;
+                        break;
+                    case 'q':
+                        castling |= BLACK_QUEENSIDE;
+                        break;
+                    default:
+                        throw badFEN(fen, "bad castling rights");
+                }
+            }
+            if(castling == 0) throw badFEN(fen, "no castling rights");
+        }
+        // a right is lost once the king or the rook has left its square
+        for(int square = 0; square < 64; square++) {
+            if(pieces[square] == null || pieces[square].getPieceType() != 
+                    ((square & 7) == 4 ? MoveRecorder.KING : MoveRecorder.ROOK) || 
+                    pieces[square].isWhite != (square >= 56)) {
+                castling &= CASTLING_MASKS[square];
+            }
+        }
+        
+        i = skipSpaces(fen, i, end);
+        enPassant = -1;
+        if(i < end && fen.charAt(i) == '-') {
+            i++;
+        } else {
+            char file = (i < end)?fen.charAt(i++):' ';
+            char rank = (i < end)?fen.charAt(i++):' ';
+            if(file < 'a' || file > 'h' || rank != ((playerIsWhite)?'6':'3')) 
+                throw badFEN(fen, "bad en passant square");
+            int square = toSquare(file - 'a', '8' - rank);
+            // the pawn that skipped the square has to be in front of it
+            AbstractPiece skipped = pieces[Bitboards.toIndex(file - 'a', (playerIsWhite)?3:4)];
+            if(skipped != null && skipped.getPieceType() == MoveRecorder.PAWN && 
+                    skipped.isWhite != playerIsWhite) enPassant = square;
+        }
+        
+        fiftyMoveClock = 0;
+        fullmoveNumber = 1;
+        i = skipSpaces(fen, i, end);
+        if(i < end) {
+            int clockStart = i;
+            for(; i < end && fen.charAt(i) >= '0' && fen.charAt(i) <= '9'; i++) {
+                fiftyMoveClock = fiftyMoveClock*10 + fen.charAt(i) - '0';
+                if(fiftyMoveClock > 100000) throw badFEN(fen, "bad halfmove clock");
+            }
+            if(i == clockStart) throw badFEN(fen, "bad halfmove clock");
+            i = skipSpaces(fen, i, end);
+            if(i < end) {
+                int number = 0, numberStart = i;
+                for(; i < end && fen.charAt(i) >= '0' && fen.charAt(i) <= '9'; i++) {
+                    number = number*10 + fen.charAt(i) - '0';
+                    if(number > 100000) throw badFEN(fen, "bad fullmove number");
+                }
+                if(i == numberStart) throw badFEN(fen, "bad fullmove number");
+                fullmoveNumber = Math.max(1, number);
+            }
+        }
+        if(skipSpaces(fen, i, end) != end) throw badFEN(fen, "too many fields");
+        // nothing before the FEN can be repeated
+        halfmoveClock = 0;
+        rehash();
+    }
+    
+    /**
+     * Skips over whitespace
+     * @param cs the characters
+     * @param i from where to skip
+     * @param end where to stop
+     * @return the index of the next character that is not whitespace, or 
+     * end if there is none
+     */
+    private static int skipSpaces(CharSequence cs, int i, int end) {
+        while(i < end && Character.isWhitespace(cs.charAt(i))) i++;
+        return i;
+    }
+    
+    /**
+     * Determines which piece a FEN letter stands for
+     * @param c the letter
+     * @return the index into the bitboards of the piece, and if none, -1
+     */
+    private static int fenPiece(char c) {
+        for(int i = 0; i < FEN_PIECES.length; i++) {
+            if(FEN_PIECES[i] == c) return i;
+        }
+        return -1;
+    }
+    
+    /**
+     * Makes the exception thrown for a FEN that cannot be read
+     * @param fen the FEN
+     * @param why what is wrong with it
+     * @return the exception to throw
+     */
+    private static IllegalArgumentException badFEN(CharSequence fen, String why) {
+        return new IllegalArgumentException("Bad FEN, " + why + ": " + fen);
+    }
+    
+    /**
+     * A view of ASCII bytes as characters, so that a FEN can be read 
+     * straight out of a byte array
+     */
+    private static final class AsciiSequence implements CharSequence {
+        /**
+         * The bytes
+         */
+        private final byte[] bytes;
+        
+        /**
+         * Where the characters start, and how many there are
+         */
+        private final int offset, length;
+        
+        /**
+         * Creates a new AsciiSequence
+         * @param bytes the bytes
+         * @param offset where the characters start
+         * @param length how many characters there are
+         */
+        AsciiSequence(byte[] bytes, int offset, int length) {
+            this.bytes = bytes;
+            this.offset = offset;
+            this.length = length;
+        }
+        
+        @Override
+        public int length() {
+            return length;
+        }
+        
+        @Override
+        public char charAt(int index) {
+            return (char) (bytes[offset + index] & 0xFF);
+        }
+        
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new AsciiSequence(bytes, offset + start, end - start);
+        }
+        
+        @Override
+        public String toString() {
+            return new String(bytes, offset, length, StandardCharsets.US_ASCII);
+        }
+    }
+    
+    /**
+     * Returns how many moves have been made since the last pawn move or 
+     * capture
+     * @return the halfmove clock
+     */
+    public int getFiftyMoveClock() {
+        return fiftyMoveClock;
+    }
+    
+    /**
+     * Returns the number of the current full move
+     * @return the fullmove number, starting at 1
+     */
+    public int getFullmoveNumber() {
+        return fullmoveNumber;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,436 @@
+package offlinechess;
+
+/**
+ * Scores positions for the search without looking ahead.<br>
+ * Every piece is worth its material plus a bonus for its square, once for 
+ * the middlegame and once for the endgame. {@link ChessBoard} adds these up 
+ * as pieces come and go, together with the phase of the game, which starts 
+ * at 24 and drops as pieces other than pawns come off. The two scores are 
+ * blended by the phase, so that, for example, the king is kept behind its 
+ * pawns while there is a lot of material left and walks to the center when 
+ * there is not.<br>
+ * On top of that, {@link #evaluate(ChessBoard)} looks at the pawns 
+ * (doubled, isolated and passed pawns) and at the safety of each king (the 
+ * pawns in front of it, the open files beside it and the pieces attacking 
+ * the squares around it), straight from the bitboards.<br>
+ * The tables are flat int arrays indexed like {@link Zobrist}, by bitboard 
+ * index * 64 + bit index, so nothing is allocated and no method is called 
+ * on a piece.
+ * @author Jed Wang
+ */
+public final class Evaluation {
+    /**
+     * The phase of a game with every piece still on the board
+     */
+    public static final int MAX_PHASE = 24;
+    
+    /**
+     * How much each kind of piece is worth in the middlegame and in the 
+     * endgame, in centipawns
+     */
+    private static final int[] MIDDLEGAME_VALUES = {82, 337, 365, 477, 1025, 0}, 
+            ENDGAME_VALUES = {94, 281, 297, 512, 936, 0};
+    
+    /**
+     * How much each kind of piece counts towards the phase
+     */
+    private static final int[] PHASES = {0, 1, 1, 2, 4, 0};
+    
+    /**
+     * The middlegame bonus of each kind of white piece on each square, by 
+     * bit index, so the first row is the eighth rank
+     */
+    private static final int[][] MIDDLEGAME_SQUARES = {
+        { // pawn
+              0,   0,   0,   0,   0,   0,   0,   0, 
+             98, 134,  61,  95,  68, 126,  34, -11, 
+             -6,   7,  26,  31,  65,  56,  25, -20, 
+            -14,  13,   6,  21,  23,  12,  17, -23, 
+            -27,  -2,  -5,  12,  17,   6,  10, -25, 
+            -26,  -4,  -4, -10,   3,   3,  33, -12, 
+            -35,  -1, -20, -23, -15,  24,  38, -22, 
+              0,   0,   0,   0,   0,   0,   0,   0
+        }, { // knight
+            -167, -89, -34, -49,  61, -97, -15, -107, 
+             -73, -41,  72,  36,  23,  62,   7,  -17, 
+             -47,  60,  37,  65,  84, 129,  73,   44, 
+              -9,  17,  19,  53,  37,  69,  18,   22, 
+             -13,   4,  16,  13,  28,  19,  21,   -8, 
+             -23,  -9,  12,  10,  19,  17,  25,  -16, 
+             -29, -53, -12,  -3,  -1,  18, -14,  -19, 
+            -105, -21, -58, -33, -17, -28, -19,  -23
+        }, { // bishop
+            -29,   4, -82, -37, -25, -42,   7,  -8, 
+            -26,  16, -18, -13,  30,  59,  18, -47, 
+            -16,  37,  43,  40,  35,  50,  37,  -2, 
+             -4,   5,  19,  50,  37,  37,   7,  -2, 
+             -6,  13,  13,  26,  34,  12,  10,   4, 
+              0,  15,  15,  15,  14,  27,  18,  10, 
+              4,  15,  16,   0,   7,  21,  33,   1, 
+            -33,  -3, -14, -21, -13, -12, -39, -21
+        }, { // rook
+             32,  42,  32,  51,  63,   9,  31,  43, 
+             27,  32,  58,  62,  80,  67,  26,  44, 
+             -5,  19,  26,  36,  17,  45,  61,  16, 
+            -24, -11,   7,  26,  24,  35,  -8, -20, 
+            -36, -26, -12,  -1,   9,  -7,   6, -23, 
+            -45, -25, -16, -17,   3,   0,  -5, -33, 
+            -44, -16, -20,  -9,  -1,  11,  -6, -71, 
+            -19, -13,   1,  17,  16,   7, -37, -26
+        }, { // queen
+            -28,   0,  29,  12,  59,  44,  43,  45, 
+            -24, -39,  -5,   1, -16,  57,  28,  54, 
+            -13, -17,   7,   8,  29,  56,  47,  57, 
+            -27, -27, -16, -16,  -1,  17,  -2,   1, 
+             -9, -26,  -9, -10,  -2,  -4,   3,  -3, 
+            -14,   2, -11,  -2,  -5,   2,  14,   5, 
+            -35,  -8,  11,   2,   8,  15,  -3,   1, 
+             -1, -18,  -9,  10, -15, -25, -31, -50
+        }, { // king
+            -65,  23,  16, -15, -56, -34,   2,  13, 
+             29,  -1, -20,  -7,  -8,  -4, -38, -29, 
+             -9,  24,   2, -16, -20,   6,  22, -22, 
+            -17, -20, -12, -27, -30, -25, -14, -36, 
+            -49,  -1, -27, -39, -46, -44, -33, -51, 
+            -14, -14, -22, -46, -44, -30, -15, -27, 
+              1,   7,  -8, -64, -43, -16,   9,   8, 
+            -15,  36,  12, -54,   8, -28,  24,  14
+        }
+    };
+    
+    /**
+     * The endgame bonus of each kind of white piece on each square, by bit 
+     * index
+     */
+    private static final int[][] ENDGAME_SQUARES = {
+        { // pawn
+              0,   0,   0,   0,   0,   0,   0,   0, 
+            178, 173, 158, 134, 147, 132, 165, 187, 
+             94, 100,  85,  67,  56,  53,  82,  84, 
+             32,  24,  13,   5,  -2,   4,  17,  17, 
+             13,   9,  -3,  -7,  -7,  -8,   3,  -1, 
+              4,   7,  -6,   1,   0,  -5,  -1,  -8, 
+             13,   8,   8,  10,  13,   0,   2,  -7, 
+              0,   0,   0,   0,   0,   0,   0,   0
+        }, { // knight
+            -58, -38, -13, -28, -31, -27, -63, -99, 
+            -25,  -8, -25,  -2,  -9, -25, -24, -52, 
+            -24, -20,  10,   9,  -1,  -9, -19, -41, 
+            -17,   3,  22,  22,  22,  11,   8, -18, 
+            -18,  -6,  16,  25,  16,  17,   4, -18, 
+            -23,  -3,  -1,  15,  10,  -3, -20, -22, 
+            -42, -20, -10,  -5,  -2, -20, -23, -44, 
+            -29, -51, -23, -15, -22, -18, -50, -64
+        }, { // bishop
+            -14, -21, -11,  -8,  -7,  -9, -17, -24, 
+             -8,  -4,   7, -12,  -3, -13,  -4, -14, 
+              2,  -8,   0,  -1,  -2,   6,   0,   4, 
+             -3,   9,  12,   9,  14,  10,   3,   2, 
+             -6,   3,  13,  19,   7,  10,  -3,  -9, 
+            -12,  -3,   8,  10,  13,   3,  -7, -15, 
+            -14, -18,  -7,  -1,   4,  -9, -15, -27, 
+            -23,  -9, -23,  -5,  -9, -16,  -5, -17
+        }, { // rook
+             13,  10,  18,  15,  12,  12,   8,   5, 
+             11,  13,  13,  11,  -3,   3,   8,   3, 
+              7,   7,   7,   5,   4,  -3,  -5,  -3, 
+              4,   3,  13,   1,   2,   1,  -1,   2, 
+              3,   5,   8,   4,  -5,  -6,  -8, -11, 
+             -4,   0,  -5,  -1,  -7, -12,  -8, -16, 
+             -6,  -6,   0,   2,  -9,  -9, -11,  -3, 
+             -9,   2,   3,  -1,  -5, -13,   4, -20
+        }, { // queen
+             -9,  22,  22,  27,  27,  19,  10,  20, 
+            -17,  20,  32,  41,  58,  25,  30,   0, 
+            -20,   6,   9,  49,  47,  35,  19,   9, 
+              3,  22,  24,  45,  57,  40,  57,  36, 
+            -18,  28,  19,  47,  31,  34,  39,  23, 
+            -16, -27,  15,   6,   9,  17,  10,   5, 
+            -22, -23, -30, -16, -16, -23, -36, -32, 
+            -33, -28, -22, -43,  -5, -32, -20, -41
+        }, { // king
+            -74, -35, -18, -18, -11,  15,   4, -17, 
+            -12,  17,  14,  17,  17,  38,  23,  11, 
+             10,  17,  23,  15,  20,  45,  44,  13, 
+             -8,  22,  24,  27,  26,  33,  26,   3, 
+            -18,  -4,  21,  24,  27,  23,   9, -11, 
+            -19,  -3,  11,  21,  23,  16,   7,  -9, 
+            -27, -11,   4,  13,  14,   4,  -5, -17, 
+            -53, -34, -21, -11, -28, -14, -24, -43
+        }
+    };
+    
+    /**
+     * The middlegame and endgame worth of each kind of piece on each 
+     * square, by bitboard index * 64 + bit index: positive for white 
+     * pieces and negative for black ones
+     */
+    private static final int[] MIDDLEGAME = new int[12 * 64], 
+            ENDGAME = new int[12 * 64];
+    
+    /**
+     * The penalties for a doubled pawn
+     */
+    private static final int DOUBLED_MIDDLEGAME = -10, DOUBLED_ENDGAME = -25;
+    
+    /**
+     * The penalties for an isolated pawn
+     */
+    private static final int ISOLATED_MIDDLEGAME = -10, ISOLATED_ENDGAME = -15;
+    
+    /**
+     * The bonuses for a passed pawn, by how many rows it has come from its 
+     * side's back row
+     */
+    private static final int[] PASSED_MIDDLEGAME = {0, 0, 5, 10, 20, 35, 55, 0}, 
+            PASSED_ENDGAME = {0, 5, 10, 20, 35, 60, 90, 0};
+    
+    /**
+     * The bonuses for a pawn right in front of its castled king, and for one 
+     * a row further up
+     */
+    private static final int SHIELD_NEAR = 12, SHIELD_FAR = 6;
+    
+    /**
+     * The penalties for a file next to a castled king without a pawn of 
+     * its own, and the extra penalty if there is no pawn on it at all
+     */
+    private static final int HALF_OPEN_FILE = -15, OPEN_FILE = -10;
+    
+    /**
+     * How much each kind of piece adds to the danger of a king for every 
+     * square around the king it attacks
+     */
+    private static final int KNIGHT_WEIGHT = 2, BISHOP_WEIGHT = 2, 
+            ROOK_WEIGHT = 3, QUEEN_WEIGHT = 5;
+    
+    /**
+     * The most a king can lose for the pieces attacking it
+     */
+    private static final int MAX_DANGER = 400;
+    
+    /**
+     * The squares of each column
+     */
+    private static final long[] FILES = new long[8];
+    
+    /**
+     * The squares of the first and the last column
+     */
+    private static final long FILE_A = 0x0101010101010101L, FILE_H = FILE_A << 7;
+    
+    /**
+     * The squares right in front of a castled king and the row after that, 
+     * on its own column and the columns beside it, by 0 for white and 64 
+     * for black + bit index; none if the king is not on its back two rows
+     */
+    private static final long[] SHIELD_NEAR_SQUARES = new long[2 * 64], 
+            SHIELD_FAR_SQUARES = new long[2 * 64];
+    
+    static {
+        for(int type = MoveRecorder.PAWN; type <= MoveRecorder.KING; type++) {
+            for(int i = 0; i < 64; i++) {
+                // black pieces use the white tables upside down
+                MIDDLEGAME[(type << 6) | i] =
+                        MIDDLEGAME_VALUES[type] + MIDDLEGAME_SQUARES[type][i];
+                ENDGAME[(type << 6) | i] =
+                        ENDGAME_VALUES[type] + ENDGAME_SQUARES[type][i];
+                MIDDLEGAME[((type + 6) << 6) | i] =
+                        -MIDDLEGAME_VALUES[type] - MIDDLEGAME_SQUARES[type][i ^ 56];
+                ENDGAME[((type + 6) << 6) | i] =
+                        -ENDGAME_VALUES[type] - ENDGAME_SQUARES[type][i ^ 56];
+            }
+        }
+        for(int col = 0; col < 8; col++) {
+            FILES[col] = FILE_A << col;
+        }
+        for(int i = 0; i < 64; i++) {
+            int col = i & 7, row = i >>> 3;
+            long files = FILES[col] | besideFiles(FILES[col]);
+            // white's king sits on rows 6 and 7, black's on rows 0 and 1
+            if(row >= 6) {
+                SHIELD_NEAR_SQUARES[i] = files & (0xFFL << ((row - 1) * 8));
+                SHIELD_FAR_SQUARES[i] = files & (0xFFL << ((row - 2) * 8));
+            }
+            if(row <= 1) {
+                SHIELD_NEAR_SQUARES[64 + i] = files & (0xFFL << ((row + 1) * 8));
+                SHIELD_FAR_SQUARES[64 + i] = files & (0xFFL << ((row + 2) * 8));
+            }
+        }
+    }
+    
+    /**
+     * No instances
+     */
+    private Evaluation() {
+    }
+    
+    /**
+     * Returns the middlegame worth of a piece on a square
+     * @param bitboardIndex which kind of piece, white pieces 0-5 and black 6-11
+     * @param index the bit index of the square
+     * @return its worth, positive for white and negative for black
+     */
+    public static int middlegame(int bitboardIndex, int index) {
+        return MIDDLEGAME[(bitboardIndex << 6) | index];
+    }
+    
+    /**
+     * Returns the endgame worth of a piece on a square
+     * @param bitboardIndex which kind of piece, white pieces 0-5 and black 6-11
+     * @param index the bit index of the square
+     * @return its worth, positive for white and negative for black
+     */
+    public static int endgame(int bitboardIndex, int index) {
+        return ENDGAME[(bitboardIndex << 6) | index];
+    }
+    
+    /**
+     * Returns how much a kind of piece counts towards the phase of the game
+     * @param whichPiece which piece, determined by the number
+     * @return how much it counts
+     */
+    public static int phase(int whichPiece) {
+        return PHASES[whichPiece];
+    }
+    
+    /**
+     * Scores a position
+     * @param cb the position
+     * @return the score in centipawns, from the side to move
+     */
+    public static int evaluate(ChessBoard cb) {
+        int middlegame = cb.middlegameScore(), endgame = cb.endgameScore();
+        long whitePawns = cb.getBitboard(MoveRecorder.PAWN, true), 
+                blackPawns = cb.getBitboard(MoveRecorder.PAWN, false);
+        
+        // pawn structure, for all of the pawns at once
+        long whiteFront = up(whitePawns >>> 8), blackFront = down(blackPawns << 8);
+        long whiteDoubled = whitePawns & down(whitePawns << 8), 
+                blackDoubled = blackPawns & up(blackPawns >>> 8);
+        long whiteIsolated = whitePawns & ~besideFiles(up(down(whitePawns))), 
+                blackIsolated = blackPawns & ~besideFiles(up(down(blackPawns)));
+        int doubled = Long.bitCount(whiteDoubled) - Long.bitCount(blackDoubled);
+        int isolated = Long.bitCount(whiteIsolated) - Long.bitCount(blackIsolated);
+        middlegame += doubled * DOUBLED_MIDDLEGAME + isolated * ISOLATED_MIDDLEGAME;
+        endgame += doubled * DOUBLED_ENDGAME + isolated * ISOLATED_ENDGAME;
+        // a pawn is passed if no enemy pawn is in front of it or can take 
+        // it on the way, and the pawn behind a doubled pawn never is
+        long whitePassed = whitePawns & ~whiteDoubled & 
+                ~(blackFront | besideFiles(blackFront));
+        long blackPassed = blackPawns & ~blackDoubled & 
+                ~(whiteFront | besideFiles(whiteFront));
+        for(; whitePassed != 0; whitePassed &= whitePassed - 1) {
+            int row = Bitboards.first(whitePassed) >>> 3;
+            middlegame += PASSED_MIDDLEGAME[7 - row];
+            endgame += PASSED_ENDGAME[7 - row];
+        }
+        for(; blackPassed != 0; blackPassed &= blackPassed - 1) {
+            int row = Bitboards.first(blackPassed) >>> 3;
+            middlegame -= PASSED_MIDDLEGAME[row];
+            endgame -= PASSED_ENDGAME[row];
+        }
+        
+        // king safety only matters while there is material to attack with
+        middlegame += kingSafety(cb, true, whitePawns, blackPawns) -
+                kingSafety(cb, false, blackPawns, whitePawns);
+        
+        int phase = Math.min(cb.gamePhase(), MAX_PHASE);
+        int output = (middlegame * phase + endgame * (MAX_PHASE - phase)) / MAX_PHASE;
+        return (cb.currentPlayer())?output:-output;
+    }
+    
+    /**
+     * Spreads squares up the board, to row 0
+     * @param bb a bitboard
+     * @return the squares and every square above them
+     */
+    private static long up(long bb) {
+        bb |= bb >>> 8;
+        bb |= bb >>> 16;
+        return bb | bb >>> 32;
+    }
+    
+    /**
+     * Spreads squares down the board, to row 7
+     * @param bb a bitboard
+     * @return the squares and every square below them
+     */
+    private static long down(long bb) {
+        bb |= bb << 8;
+        bb |= bb << 16;
+        return bb | bb << 32;
+    }
+    
+    /**
+     * Shifts squares one column to either side
+     * @param bb a bitboard
+     * @return the squares beside the given ones
+     */
+    private static long besideFiles(long bb) {
+        return ((bb & ~FILE_H) << 1) | ((bb & ~FILE_A) >>> 1);
+    }
+    
+    /**
+     * Scores how safe one side's king is, for the middlegame
+     * @param cb the position
+     * @param isWhite whose king to look at
+     * @param own the pawns of that side
+     * @param enemy the pawns of the other side
+     * @return the bonus of that side, and if its king is in danger, less 
+     * than 0
+     */
+    private static int kingSafety(ChessBoard cb, boolean isWhite, long own, long enemy) {
+        long king = cb.getBitboard(MoveRecorder.KING, isWhite);
+        if(king == 0) return 0;
+        int k = Bitboards.first(king), side = (isWhite)?0:64;
+        int output = 0;
+        
+        long near = SHIELD_NEAR_SQUARES[side + k];
+        if(near != 0) {
+            output += SHIELD_NEAR * Long.bitCount(own & near) + 
+                    SHIELD_FAR * Long.bitCount(own & SHIELD_FAR_SQUARES[side + k]);
+            int col = k & 7;
+            for(int c = Math.max(0, col - 1); c <= Math.min(7, col + 1); c++) {
+                if((own & FILES[c]) == 0) {
+                    output += HALF_OPEN_FILE;
+                    if((enemy & FILES[c]) == 0) output += OPEN_FILE;
+                }
+            }
+        }
+        
+        long zone = Attacks.king(k) | king, occupied = cb.getOccupancy();
+        int attackers = 0, danger = 0;
+        for(long pieces = cb.getBitboard(MoveRecorder.KNIGHT, !isWhite); pieces != 0; pieces &= pieces - 1) {
+            long attacked = Attacks.knight(Bitboards.first(pieces)) & zone;
+            if(attacked != 0) {
+                attackers++;
+                danger += KNIGHT_WEIGHT * Long.bitCount(attacked);
+            }
+        }
+        for(long pieces = cb.getBitboard(MoveRecorder.BISHOP, !isWhite); pieces != 0; pieces &= pieces - 1) {
+            long attacked = Attacks.bishop(Bitboards.first(pieces), occupied) & zone;
+            if(attacked != 0) {
+                attackers++;
+                danger += BISHOP_WEIGHT * Long.bitCount(attacked);
+            }
+        }
+        for(long pieces = cb.getBitboard(MoveRecorder.ROOK, !isWhite); pieces != 0; pieces &= pieces - 1) {
+            long attacked = Attacks.rook(Bitboards.first(pieces), occupied) & zone;
+            if(attacked != 0) {
+                attackers++;
+                danger += ROOK_WEIGHT * Long.bitCount(attacked);
+            }
+        }
+        for(long pieces = cb.getBitboard(MoveRecorder.QUEEN, !isWhite); pieces != 0; pieces &= pieces - 1) {
+            long attacked = Attacks.queen(Bitboards.first(pieces), occupied) & zone;
+            if(attacked != 0) {
+                attackers++;
+                danger += QUEEN_WEIGHT * Long.bitCount(attacked);
+            }
+        }
+        // a lone attacker is rarely dangerous
+        if(attackers >= 2) output -= Math.min(danger * danger / 2, MAX_DANGER);
+        return output;
+    }
+}
\ No newline at end of file
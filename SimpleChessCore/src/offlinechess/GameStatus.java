@@ -0,0 +1,72 @@
+package offlinechess;
+
+/**
+ * Whether a game is over, and if so, how it ended
+ * @author Jed Wang
+ */
+public enum GameStatus {
+    /**
+     * The game goes on
+     */
+    ONGOING(0), 
+    
+    /**
+     * White checkmated black
+     */
+    WHITE_CHECKMATES(1), 
+    
+    /**
+     * Black checkmated white
+     */
+    BLACK_CHECKMATES(-1), 
+    
+    /**
+     * The side to move has no legal moves but is not in check
+     */
+    STALEMATE(0), 
+    
+    /**
+     * 50 moves have gone by without a pawn moving or a capture
+     */
+    FIFTY_MOVE_DRAW(0), 
+    
+    /**
+     * The same position has appeared three times
+     */
+    THREEFOLD_REPETITION(0), 
+    
+    /**
+     * Neither side has enough material to checkmate
+     */
+    INSUFFICIENT_MATERIAL(0);
+    
+    /**
+     * The outcome: 1 if white won, -1 if black won, and 0 otherwise
+     */
+    private final int outcome;
+    
+    /**
+     * Creates a GameStatus
+     * @param outcome 1 if white won, -1 if black won, and 0 otherwise
+     */
+    private GameStatus(int outcome) {
+        this.outcome = outcome;
+    }
+    
+    /**
+     * Returns the outcome of the game
+     * @return 1 if white won, -1 if black won, and 0 if it was drawn or 
+     * is still going on
+     */
+    public int getOutcome() {
+        return outcome;
+    }
+    
+    /**
+     * Determines whether the game is over
+     * @return whether the game is over
+     */
+    public boolean isOver() {
+        return this != ONGOING;
+    }
+}
\ No newline at end of file
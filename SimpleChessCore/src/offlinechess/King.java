@@ -1,103 +1,69 @@
 package offlinechess;
 
-import java.awt.Graphics;
-import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
 import java.util.LinkedList;
-import javax.imageio.ImageIO;
 
 /**
  * A class that represents the king
  * @author Jed Wang
  */
 public class King extends AbstractPiece {
-    
     /**
-     * Whether this king has moved before - used to check castling
+     * The white king
      */
-    private boolean moved = false;
+    private static final King WHITE = new King(true);
     
     /**
-     * Whether this king is in check - used to do castling
+     * The black king
      */
-    private boolean inCheck = false;
-
+    private static final King BLACK = new King(false);
+    
     /**
      * Creates a new King
      * @param isWhite whether the king is white or black
      */
-    public King(boolean isWhite) {
+    private King(boolean isWhite) {
         super(isWhite);
     }
+    
+    /**
+     * Returns the king of one color.<br>
+     * Pieces carry no state, so every board shares the same two.
+     * @param isWhite whether the king is white or black
+     * @return the king of that color
+     */
+    public static King getInstance(boolean isWhite) {
+        return (isWhite)?WHITE:BLACK;
+    }
 
     @Override
     public LinkedList<Integer> allLegalMoves(ChessBoard cb, int currentPosition) {
         if(!ChessBoard.isValidSquare(currentPosition)) throw new IllegalArgumentException("Invalid square");
-        if(!(cb.getPiece(currentPosition).getCharRepresentation().equals("K"))) throw new IllegalArgumentException("This isn\'t a king!");
-        LinkedList<Integer> output = new LinkedList<>();
-        int temp;
-        for(int i = -1; i <= 1; i++) {
-            for(int j = -1; j <= 1; j++) {
-                if(i == 0 && j == 0) continue;
-                if(ChessBoard.isValidShift(currentPosition, i, j)) {
-                    temp = ChessBoard.shiftSquare(currentPosition, i, j);
-                    if(ChessBoard.isValidSquare(temp)) {
-                        if(cb.isEmptySquare(temp)) {
-                            output.add(temp);
-                        } else if(cb.getPiece(temp).isWhite ^ isWhite) {
-                            output.add(temp);
-                        }
-                    }
-                }
-            }
-        }
+        if(cb.getPiece(currentPosition).getPieceType() != MoveRecorder.KING) throw new IllegalArgumentException("This isn\'t a king!");
+        LinkedList<Integer> output = toSquares(Attacks.king(Bitboards.toIndex(currentPosition)) 
+                & ~cb.getOccupancy(isWhite));
         
         // CASTLING
-        if(!moved && !inCheck) {
-            // white on 7, black on 0
-            int row = (isWhite)?7:0;
-            
-            boolean canQ = true, canK = true;
-            for(int i = 0; i < cb.getBoard().length; i++) {
-                for(int j = 0; j < cb.getBoard()[i].length; j++) {
-                    AbstractPiece ap = cb.getPiece(i, j);
-                    if(ap == null) continue;
-                    if((ap.isWhite == isWhite) || (ap.getCharRepresentation().equals("K"))) continue;
-                    int fromWhere = ChessBoard.toSquare(i, j);
-                    if(ap.isAllLegalMove(cb, fromWhere, ChessBoard.toSquare(2, row)) ||
-                            ap.isAllLegalMove(cb, fromWhere, ChessBoard.toSquare(3, row))) {
-                        canQ = false;
-                    }
-                    if(ap.isAllLegalMove(cb, fromWhere, ChessBoard.toSquare(5, row)) ||
-                            ap.isAllLegalMove(cb, fromWhere, ChessBoard.toSquare(6, row))) {
-                        canK = false;
-                    }
-                }
-            }
+        // white on 7, black on 0
+        int row = (isWhite)?7:0;
+        if(currentPosition == ChessBoard.toSquare(4, row) && 
+                !cb.isSquareAttacked(currentPosition, !isWhite)) {
             // 1, 2, 3, Queenside
-            if(cb.isEmptySquare(1, row) && cb.isEmptySquare(2, row) && cb.isEmptySquare(3, row) && canQ) {
+            if(cb.canCastle(isWhite, false) && 
+                    cb.isEmptySquare(1, row) && cb.isEmptySquare(2, row) && cb.isEmptySquare(3, row) && 
+                    !cb.isSquareAttacked(ChessBoard.toSquare(2, row), !isWhite) && 
+                    !cb.isSquareAttacked(ChessBoard.toSquare(3, row), !isWhite)) {
                 output.add(ChessBoard.shiftSquare(currentPosition, -2, 0));
             }
             // 5, 6, Kingside
-            if(cb.isEmptySquare(5, row) && cb.isEmptySquare(6, row) && canK) {
+            if(cb.canCastle(isWhite, true) && 
+                    cb.isEmptySquare(5, row) && cb.isEmptySquare(6, row) && 
+                    !cb.isSquareAttacked(ChessBoard.toSquare(5, row), !isWhite) && 
+                    !cb.isSquareAttacked(ChessBoard.toSquare(6, row), !isWhite)) {
                 output.add(ChessBoard.shiftSquare(currentPosition, 2, 0));
             }
         }
         return output;
     }
-
-    @Override
-    public LinkedList<Integer> legalCaptures(ChessBoard cb, int currentPosition) {
-        return allLegalMoves(cb, currentPosition);
-    }
-    
-    /**
-     * Notifies this king that it is in check.
-     */
-    public void notifyCheck() {
-        inCheck = true;
-    }
     
     /**
      * Determines what moves are necessary
@@ -136,8 +102,8 @@ public class King extends AbstractPiece {
             int row = (isWhite)?7:0;
             
             boolean canQ = true, canK = true;
-            for(int i = 0; i < cb.getBoard().length; i++) {
-                for(int j = 0; j < cb.getBoard()[i].length; j++) {
+            for(int i = 0; i < 8; i++) {
+                for(int j = 0; j < 8; j++) {
                     AbstractPiece ap = cb.getPiece(i, j);
                     if(ap == null) continue;
                     if((ap.isWhite == isWhite) || (ap.getCharRepresentation().equals("K"))) continue;
@@ -202,72 +168,13 @@ public class King extends AbstractPiece {
         return bCopy;
     }
     
-    /**
-     * The images for the black and white pieces
-     */
-    private static BufferedImage black, white;
-    
-    /**
-     * Loads the images for this piece
-     * @param b the black image
-     * @param w the white image
-     * @throws IOException if something goes wrong
-     */
-    public static void loadImages(File b, File w) throws IOException {
-        white = ImageIO.read(w);
-        black = ImageIO.read(b);
-    }
-    
-    /**
-     * Draws this piece
-     * @param g the Graphics to draw on
-     * @param x the X coordinate of the image
-     * @param y the Y coordinate of the image
-     * @param width the width of the picture
-     * @param height the height of the picture
-     */
-    @Override
-    public void draw(Graphics g, int x, int y, int width, int height) {
-        if(isWhite) {
-            g.drawImage(white, x, y, width, height, null);
-        } else {
-            g.drawImage(black, x, y, width, height, null);
-        }
-    }
-    
-    /**
-     * Gets this piece's image that is white or black
-     * @param isWhite whether the image should be white or black
-     * @return the image that represents this piece
-     */
-    public static BufferedImage getImage(boolean isWhite) {
-        return (isWhite)?white:black;
-    }
-
     @Override
     public String getCharRepresentation() {
         return "K";
     }
-    
-    /**
-     * Notifies the King that it has moved
-     */
-    public void notifyOfMove() {
-        moved = true;
-    }
-    
-    /**
-     * Notifies the King that it is no longer in check
-     */
-    public void notifyNoCheck() {
-        inCheck = false;
-    }
 
-    /**
-     * Returns whether this King has moved
-     * @return whether this King has moved
-     */
-    public boolean isMoved() {
-        return moved;
+    @Override
+    public int getPieceType() {
+        return MoveRecorder.KING;
     }
 }
\ No newline at end of file
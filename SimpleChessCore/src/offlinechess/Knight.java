@@ -0,0 +1,54 @@
+package offlinechess;
+
+import java.util.LinkedList;
+
+/**
+ * A class that represents a knight
+ * @author Jed Wang
+ */
+public class Knight extends AbstractPiece {
+    /**
+     * The white knight
+     */
+    private static final Knight WHITE = new Knight(true);
+    
+    /**
+     * The black knight
+     */
+    private static final Knight BLACK = new Knight(false);
+    
+    /**
+     * Creates a new Knight
+     * @param isWhite whether the knight is white or black
+     */
+    private Knight(boolean isWhite) {
+        super(isWhite);
+    }
+    
+    /**
+     * Returns the knight of one color.<br>
+     * Pieces carry no state, so every board shares the same two.
+     * @param isWhite whether the knight is white or black
+     * @return the knight of that color
+     */
+    public static Knight getInstance(boolean isWhite) {
+        return (isWhite)?WHITE:BLACK;
+    }
+
+    @Override
+    public LinkedList<Integer> allLegalMoves(ChessBoard cb, int currentPosition) {
+        if(!ChessBoard.isValidSquare(currentPosition)) throw new IllegalArgumentException("Invalid square");
+        if(cb.getPiece(currentPosition).getPieceType() != MoveRecorder.KNIGHT) throw new IllegalArgumentException("This isn\'t a knight!");
+        return toSquares(Attacks.knight(Bitboards.toIndex(currentPosition)) & ~cb.getOccupancy(isWhite));
+    }
+    
+    @Override
+    public String getCharRepresentation() {
+        return "N";
+    }
+
+    @Override
+    public int getPieceType() {
+        return MoveRecorder.KNIGHT;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package offlinechess;
+
+/**
+ * Packs a move into a single int, so moves can be stored and passed around 
+ * without boxing.<br>
+ * Bits 0-5 hold the bit index of the square moved from, bits 6-11 the bit 
+ * index of the square moved to, bits 12-14 the piece a pawn promotes to 
+ * (0 if it does not) and the bits above that the flags.
+ * @author Jed Wang
+ */
+public final class Move {
+    /**
+     * The move takes a piece
+     */
+    public static final int CAPTURE = 1 << 15;
+    
+    /**
+     * The move is a pawn taking en passant
+     */
+    public static final int EN_PASSANT = 1 << 16;
+    
+    /**
+     * The move is a king castling
+     */
+    public static final int CASTLE = 1 << 17;
+    
+    /**
+     * The move is a pawn moving up two squares
+     */
+    public static final int DOUBLE_PUSH = 1 << 18;
+    
+    /**
+     * No instances
+     */
+    private Move() {
+    }
+    
+    /**
+     * Packs a move
+     * @param from the bit index of the square moved from
+     * @param to the bit index of the square moved to
+     * @param promotion the piece a pawn promotes to, and if none, 0
+     * @param flags any of {@link #CAPTURE}, {@link #EN_PASSANT}, 
+     * {@link #CASTLE} and {@link #DOUBLE_PUSH}
+     * @return the packed move
+     */
+    public static int of(int from, int to, int promotion, int flags) {
+        return from | (to << 6) | (promotion << 12) | flags;
+    }
+    
+    /**
+     * Returns the bit index of the square moved from
+     * @param move a packed move
+     * @return the bit index moved from
+     */
+    public static int from(int move) {
+        return move & 63;
+    }
+    
+    /**
+     * Returns the bit index of the square moved to
+     * @param move a packed move
+     * @return the bit index moved to
+     */
+    public static int to(int move) {
+        return (move >>> 6) & 63;
+    }
+    
+    /**
+     * Returns the square moved from
+     * @param move a packed move
+     * @return the int square moved from
+     */
+    public static int fromSquare(int move) {
+        return Bitboards.toSquare(move & 63);
+    }
+    
+    /**
+     * Returns the square moved to
+     * @param move a packed move
+     * @return the int square moved to
+     */
+    public static int toSquare(int move) {
+        return Bitboards.toSquare((move >>> 6) & 63);
+    }
+    
+    /**
+     * Returns the piece a pawn promotes to
+     * @param move a packed move
+     * @return the promotion piece, and if none, 0
+     */
+    public static int promotion(int move) {
+        return (move >>> 12) & 7;
+    }
+    
+    /**
+     * Determines whether a move has a flag
+     * @param move a packed move
+     * @param flag the flag to look for
+     * @return whether the move has the flag
+     */
+    public static boolean is(int move, int flag) {
+        return (move & flag) != 0;
+    }
+    
+    /**
+     * Returns a move in coordinate notation, such as e2e4 or e7e8q
+     * @param move a packed move
+     * @return the move as a String
+     */
+    public static String toString(int move) {
+        String output = MoveRecorder.toStringSquare(fromSquare(move)) + 
+                MoveRecorder.toStringSquare(toSquare(move));
+        switch(promotion(move)) {
+            case MoveRecorder.KNIGHT:
+                return output + "n";
+            case MoveRecorder.BISHOP:
+                return output + "b";
+            case MoveRecorder.ROOK:
+                return output + "r";
+            case MoveRecorder.QUEEN:
+                return output + "q";
+            default:
+                return output;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package offlinechess;
+
+import java.util.Arrays;
+
+/**
+ * A reusable list of packed moves (see {@link Move}), backed by an int array.
+ * <br>
+ * Clearing the list keeps the array, so filling it again allocates nothing.
+ * @author Jed Wang
+ */
+public class MoveList {
+    /**
+     * How many moves a new list holds before it has to grow
+     */
+    private static final int DEFAULT_CAPACITY = 256;
+    
+    /**
+     * The moves
+     */
+    private int[] moves;
+    
+    /**
+     * How many moves are in the list
+     */
+    private int size = 0;
+    
+    /**
+     * Default constructor
+     */
+    public MoveList() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * Creates a MoveList with room for a number of moves
+     * @param capacity how many moves to make room for
+     */
+    public MoveList(int capacity) {
+        if(capacity < 1) throw new IllegalArgumentException("Capacity must be positive");
+        moves = new int[capacity];
+    }
+    
+    /**
+     * Adds a move to the end of this list
+     * @param move a packed move
+     */
+    public void add(int move) {
+        if(size == moves.length) moves = Arrays.copyOf(moves, size * 2);
+        moves[size++] = move;
+    }
+    
+    /**
+     * Returns a move in this list
+     * @param i the position of the move
+     * @return the packed move
+     */
+    public int get(int i) {
+        if(i < 0 || i >= size) throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+        return moves[i];
+    }
+    
+    /**
+     * Swaps two moves in this list, so that moves can be sorted in place
+     * @param i the position of one move
+     * @param j the position of the other move
+     */
+    public void swap(int i, int j) {
+        if(i < 0 || i >= size || j < 0 || j >= size)
+            throw new IndexOutOfBoundsException("Index: " + i + ", " + j + ", Size: " + size);
+        int move = moves[i];
+        moves[i] = moves[j];
+        moves[j] = move;
+    }
+    
+    /**
+     * Determines whether this list holds a move
+     * @param move a packed move
+     * @return whether the move is in this list
+     */
+    public boolean contains(int move) {
+        for(int i = 0; i < size; i++) {
+            if(moves[i] == move) return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Returns how many moves are in this list
+     * @return how many moves are in this list
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Determines whether this list is empty
+     * @return whether this list is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * Empties this list, keeping its room
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder output = new StringBuilder("[");
+        for(int i = 0; i < size; i++) {
+            if(i != 0) output.append(", ");
+            output.append(Move.toString(moves[i]));
+        }
+        return output.append(']').toString();
+    }
+}
\ No newline at end of file
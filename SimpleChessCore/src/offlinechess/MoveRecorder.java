@@ -1,6 +1,7 @@
 package offlinechess;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * A class that records the moves of a game
@@ -39,9 +40,25 @@ public class MoveRecorder {
     public static final int KING = 5;
     
     /**
-     * The collection of moves made in the game
+     * The letters of the pieces, by the constants above
      */
-    private ArrayList<String> moves;
+    private static final String LETTERS = "PNBRQK";
+    
+    /**
+     * The moves made in the game, each packed as the from square, the to 
+     * square and the promotion of a {@link Move} (its lowest 15 bits)
+     */
+    private short[] moves;
+    
+    /**
+     * How many moves have been made
+     */
+    private int size = 0;
+    
+    /**
+     * The FEN of the position the moves were made from
+     */
+    private final String start;
     
     /**
      * The outcome of the game
@@ -49,10 +66,19 @@ public class MoveRecorder {
     private String outcome = "";
     
     /**
-     * Default constructor
+     * Default constructor, for a game from the starting position
      */
     public MoveRecorder() {
-        moves = new ArrayList<>();
+        this(ChessBoard.STARTING_FEN);
+    }
+    
+    /**
+     * Creates a MoveRecorder for a game from any position
+     * @param start the FEN of the position the moves are made from
+     */
+    public MoveRecorder(String start) {
+        this.start = start;
+        moves = new short[16];
     }
     
     /**
@@ -60,15 +86,21 @@ public class MoveRecorder {
      * @param mr the MoveRecorder to duplicate
      */
     public MoveRecorder(MoveRecorder mr) {
-        moves = new ArrayList<>(mr.moves);
+        start = mr.start;
+        moves = Arrays.copyOf(mr.moves, Math.max(16, mr.size));
+        size = mr.size;
+        outcome = mr.outcome;
     }
 
     /**
-     * Returns the moves made
+     * Returns the moves made, in algebraic notation.<br>
+     * The notation is not kept, so this plays the game over again.
      * @return the moves made
      */
     public ArrayList<String> getMoves() {
-        return moves;
+        ArrayList<String> output = new ArrayList<>(size);
+        replay(new StringBuilder(), output);
+        return output;
     }
     
     /**
@@ -231,63 +263,141 @@ public class MoveRecorder {
      * @param toWhere to where the piece was moved
      */
     public void moved(ChessBoard before, ChessBoard after, int fromWhere, int toWhere) {
-        /*moved(before, 
-                ChessBoard.getColumn(fromWhere), ChessBoard.getRow(fromWhere), 
-                ChessBoard.getColumn(toWhere), ChessBoard.getRow(toWhere));*/
+        AbstractPiece moving = before.getPiece(fromWhere), moved = after.getPiece(toWhere);
+        if(moving == null || moved == null) throw new IllegalArgumentException("Null piece");
+        int promotion = (moving.getPieceType() != moved.getPieceType())?moved.getPieceType():0;
+        record(Move.of(Bitboards.toIndex(fromWhere), Bitboards.toIndex(toWhere), promotion, 0), after);
+    }
+    
+    /**
+     * Determines the notation of a move, without any check symbols.<br>
+     * Must be called before the move is made. Works from the legal moves 
+     * the board has already worked out, so it costs a few bit tests.
+     * @param before the state of the game before the move
+     * @param fromWhere from where the piece is moved
+     * @param toWhere to where the piece is moved
+     * @param promotion what a pawn promotes to if it reaches the last rank
+     * @return the String that denotes the move
+     */
+    public String notate(ChessBoard before, int fromWhere, int toWhere, int promotion) {
+        StringBuilder output = new StringBuilder(8);
+        appendNotation(output, before, fromWhere, toWhere, promotion);
+        return output.toString();
+    }
+    
+    /**
+     * Writes the notation of a move, without any check symbols.<br>
+     * Must be called before the move is made.
+     * @param output where to write it
+     * @param before the state of the game before the move
+     * @param fromWhere from where the piece is moved
+     * @param toWhere to where the piece is moved
+     * @param promotion what a pawn promotes to if it reaches the last rank
+     */
+    private void appendNotation(StringBuilder output, ChessBoard before, 
+            int fromWhere, int toWhere, int promotion) {
         AbstractPiece toMove = before.getPiece(fromWhere);
         if(toMove == null) throw new IllegalArgumentException("Null piece");
-        //if(!toMove.isLegalMove(before, fromWhere, toWhere)) throw new IllegalArgumentException("Not a legal move!");
-        
-        switch(toMove.getCharRepresentation()) {
-            case "P":
-                if(toWhere%10 == 0 || toWhere%10 == 7) {
-                    switch(after.getPiece(toWhere).getCharRepresentation()) {
-                        case "N":
-                            moves.add(addChecks(promotionMoveString(toMoveString(fromWhere, toWhere, PAWN, isCapture(before, toWhere)), KNIGHT), after, after.getPiece(toWhere).isWhite));
-                            break;
-                        case "B":
-                            moves.add(addChecks(promotionMoveString(toMoveString(fromWhere, toWhere, PAWN, isCapture(before, toWhere)), BISHOP), after, after.getPiece(toWhere).isWhite));
-                            break;
-                        case "R":
-                            moves.add(addChecks(promotionMoveString(toMoveString(fromWhere, toWhere, PAWN, isCapture(before, toWhere)), ROOK), after, after.getPiece(toWhere).isWhite));
-                            break;
-                        case "Q":
-                            moves.add(addChecks(promotionMoveString(toMoveString(fromWhere, toWhere, PAWN, isCapture(before, toWhere)), QUEEN), after, after.getPiece(toWhere).isWhite));
-                            break;
-                    }
-                } else {
-                    moves.add(addChecks(toMoveString(fromWhere, toWhere, PAWN, isCapture(before, toWhere)), after, after.getPiece(toWhere).isWhite));
-                }
-                break;
-            case "K":
+        if(!before.isLegalMove(fromWhere, toWhere)) 
+            throw new IllegalArgumentException("This isn\'t a legal move: from " + fromWhere + " to " + toWhere);
+        int whichPiece = toMove.getPieceType();
+        boolean capture = !before.isEmptySquare(toWhere) || 
+                (whichPiece == PAWN && before.getEnPassant() == toWhere);
+        switch(whichPiece) {
+            case PAWN:
+                if(capture) output.append((char) ('a' + fromWhere/10)).append('x');
+                appendSquare(output, toWhere);
+                if(toWhere%10 == 0 || toWhere%10 == 7) 
+                    output.append('=').append(LETTERS.charAt(promotion));
+                return;
+            case KING:
                 if(Math.abs(fromWhere/10-toWhere/10) == 2) {
-                    moves.add(addChecks(castlingMoveString(fromWhere/10 < toWhere/10), after, after.getPiece(toWhere).isWhite));
-                } else {
-                    moves.add(addChecks(toMoveString(fromWhere, toWhere, KING, isCapture(before, toWhere)), after, after.getPiece(toWhere).isWhite));
+                    output.append(castlingMoveString(fromWhere/10 < toWhere/10));
+                    return;
                 }
-                break;
-            case "N":
-                moves.add(addChecks(moveString(before, fromWhere, toWhere, toMove, KNIGHT, isCapture(before, toWhere)), after, after.getPiece(toWhere).isWhite));
-                break;
-            case "B":
-                moves.add(addChecks(moveString(before, fromWhere, toWhere, toMove, BISHOP, isCapture(before, toWhere)), after, after.getPiece(toWhere).isWhite));
-                break;
-            case "R":
-                moves.add(addChecks(moveString(before, fromWhere, toWhere, toMove, ROOK, isCapture(before, toWhere)), after, after.getPiece(toWhere).isWhite));
-                break;
-            case "Q":
-                moves.add(addChecks(moveString(before, fromWhere, toWhere, toMove, QUEEN, isCapture(before, toWhere)), after, after.getPiece(toWhere).isWhite));
+                // there is only one king, which is never ambiguous
+                output.append(LETTERS.charAt(KING));
                 break;
             default:
-                throw new IllegalArgumentException("Unknown piece");
+                output.append(LETTERS.charAt(whichPiece));
+                disambiguate(output, before, fromWhere, toWhere, toMove);
+                break;
+        }
+        if(capture) output.append('x');
+        appendSquare(output, toWhere);
+    }
+    
+    /**
+     * Adds the file, rank or both of the square a piece moves from if 
+     * another piece of the same kind could move to the same square.<br>
+     * The file comes first; the rank is used only if another piece on the 
+     * same file could make the move, and both only if the rank is not 
+     * enough either.
+     * @param output where to add them
+     * @param before the state of the game before the move
+     * @param fromWhere from where the piece is moved
+     * @param toWhere to where the piece is moved
+     * @param piece the piece that is moved
+     */
+    private void disambiguate(StringBuilder output, ChessBoard before, 
+            int fromWhere, int toWhere, AbstractPiece piece) {
+        long others = before.getBitboard(piece.getPieceType(), piece.isWhite) & 
+                ~Bitboards.bit(Bitboards.toIndex(fromWhere));
+        long target = Bitboards.bit(Bitboards.toIndex(toWhere));
+        boolean ambiguous = false, sameFile = false, sameRank = false;
+        while(others != 0) {
+            int square = Bitboards.toSquare(Bitboards.first(others));
+            others &= others - 1;
+            if((before.getLegalTargets(square) & target) != 0) {
+                ambiguous = true;
+                if(square/10 == fromWhere/10) sameFile = true;
+                if(square%10 == fromWhere%10) sameRank = true;
+            }
         }
-        if(after.checkMated(true)) {
-            addOutcome(-1);
-        } else if(after.checkMated(false)) {
-            addOutcome(1);
+        if(!ambiguous) return;
+        if(!sameFile) {
+            output.append((char) ('a' + fromWhere/10));
+        } else if(!sameRank) {
+            output.append((char) ('8' - fromWhere%10));
+        } else {
+            appendSquare(output, fromWhere);
         }
     }
     
+    /**
+     * Writes a square in algebraic notation
+     * @param output where to write it
+     * @param square the square
+     */
+    private static void appendSquare(StringBuilder output, int square) {
+        output.append((char) ('a' + square/10)).append((char) ('8' - square%10));
+    }
+    
+    /**
+     * Notes a move, and the outcome if it ends the game.<br>
+     * Only the move itself is kept; its notation is worked out when it is 
+     * asked for.
+     * @param move the move, packed as in {@link Move}; only the squares 
+     * and the promotion are kept
+     * @param after the state of the game after the move
+     */
+    public void record(int move, ChessBoard after) {
+        if(size == moves.length) moves = Arrays.copyOf(moves, size * 2);
+        moves[size++] = (short) (move & 0x7FFF);
+        boolean toMove = after.currentPlayer();
+        if(after.checkMated(toMove)) addOutcome((toMove)?-1:1);
+    }
+    
+    /**
+     * Forgets the last move noted, along with the outcome it may have had
+     * @throws IllegalStateException if no move has been noted
+     */
+    public void takeBack() {
+        if(size == 0) throw new IllegalStateException("No moves to take back");
+        size--;
+        outcome = "";
+    }
+    
     /**
      * Notifies this object of a move and notes it
      * @param before the state of the game before the move
@@ -303,57 +413,6 @@ public class MoveRecorder {
                 ChessBoard.toSquare(toWhereX, toWhereY));
     }
     
-    /**
-     * Determines whether a move is a capture
-     * @param before the state of the game before the move
-     * @param toWhere to where the piece was moved
-     * @return whether a move is a capture
-     */
-    private boolean isCapture(ChessBoard before, int toWhere) {
-        if(before.getEnPassant() == -1) {
-            return !before.isEmptySquare(toWhere);
-        } else {
-            return !before.isEmptySquare(toWhere) || before.getEnPassant() == toWhere;
-        }
-    }
-    
-    /**
-     * Determines the String representing a move
-     * @param before the state of the game before the move
-     * @param fromWhere from where the piece was moved
-     * @param toWhere to where the piece was moved
-     * @param piece which piece is to be moved
-     * @return A String that represents the move
-     */
-    private String moveString(ChessBoard before, int fromWhere, int toWhere, AbstractPiece piece, int whichPiece, boolean capture) {
-        if(!piece.isAllLegalMove(before, fromWhere, toWhere)) 
-            throw new IllegalArgumentException("This isn\'t a legal move: from " + fromWhere + " to " + toWhere);
-        ArrayList<Integer> allPiece = before.findAll(whichPiece, piece.isWhite);
-        boolean needRank = false, needFile = false;
-        for(int square:allPiece) {
-            if(fromWhere != square) {
-                if(before.getPiece(square).isLegalMove(before, square, toWhere)) {
-                    if(square/10 == fromWhere/10) {
-                        needRank = true;
-                    } else needFile = true;
-                }
-            }
-        }
-        if(needRank) {
-            if(needFile) {
-                return toMoveStringFR(fromWhere, toWhere, whichPiece, capture);
-            } else {
-                return toMoveStringR(toWhere, fromWhere%10, whichPiece, capture);
-            }
-        } else{ 
-            if(needFile) {
-                return toMoveStringF(toWhere, fromWhere/10, whichPiece, capture);
-            } else {
-                return toMoveString(fromWhere, toWhere, whichPiece, capture);
-            }
-        }
-    }
-    
     /**
      * Adds the check notation if the side is checked
      * @param move the current move
@@ -362,11 +421,11 @@ public class MoveRecorder {
      * @return the finished move notation
      */
     public String addChecks(String move, ChessBoard after, boolean isWhite) {
-        if(after.checkMated(!isWhite)) {
+        if(!after.inCheck(!isWhite)) {
+            return move;
+        } else if(after.checkMated(!isWhite)) {
             return move + "#";
-        } else if(after.inCheck(!isWhite)) {
-            return move + "+";
-        } else return move;
+        } else return move + "+";
     }
     
     /**
@@ -389,24 +448,12 @@ public class MoveRecorder {
         }
     }
     
-    /**
-     * Determines whether 50 moves have been made without a pawn moving.
-     * @return whether it is a draw according to this rule.
-     */
-    public boolean is50MoveDraw() {
-        if(moves.size() < 100) return false;
-        for(int i = moves.size()-1; i <= moves.size()-100; i--) {
-            if(Character.isLowerCase(moves.get(i).charAt(0))) return false;
-        }
-        return true;
-    }
-    
     /**
      * Returns how many moves have been played in the game
      * @return how many moves have been played in the game
      */
     public int moves() {
-        return moves.size()/2;
+        return size/2;
     }
     
     /**
@@ -418,6 +465,32 @@ public class MoveRecorder {
         return "" + (char)('a' + square/10) + (8 - square%10);
     }
     
+    /**
+     * Plays the game over again from its first position, writing down 
+     * every move in algebraic notation
+     * @param pgn where to write the moves, numbered as in a PGN
+     * @param list where to put each move, or null to only number them
+     */
+    private void replay(StringBuilder pgn, ArrayList<String> list) {
+        ChessBoard board = new ChessBoard(start);
+        for(int i = 0; i < size; i++) {
+            int fromWhere = Bitboards.toSquare(moves[i] & 63), 
+                    toWhere = Bitboards.toSquare((moves[i] >>> 6) & 63), 
+                    promotion = (moves[i] >>> 12) & 7;
+            boolean isWhite = board.currentPlayer();
+            if(list == null && (isWhite || i == 0)) {
+                pgn.append(board.getFullmoveNumber()).append((isWhite)?". ":"... ");
+            }
+            int mark = pgn.length();
+            appendNotation(pgn, board, fromWhere, toWhere, (promotion == 0)?QUEEN:promotion);
+            board.makeMove(fromWhere, toWhere, (promotion == 0)?QUEEN:promotion);
+            if(board.inCheck(!isWhite)) pgn.append((board.checkMated(!isWhite))?'#':'+');
+            if(list != null) {
+                list.add(pgn.substring(mark));
+            } else pgn.append(' ');
+        }
+    }
+    
     /**
      * Creates a String that represents this MoveRecorder. <br>
      * Essentially creates a PGN of the game
@@ -425,14 +498,8 @@ public class MoveRecorder {
      */
     @Override
     public String toString() {
-        String output = "";
-        for(int i = 0; i < moves.size(); i++) {
-            if(i%2 == 0) {
-                output += ((i/2) + 1) + ". ";
-            }
-            output += moves.get(i) + " ";
-        }
-        output += outcome;
-        return output;
+        StringBuilder output = new StringBuilder(size * 7 + 8);
+        replay(output, null);
+        return output.append(outcome).toString();
     }
 }
\ No newline at end of file
@@ -0,0 +1,220 @@
+package offlinechess;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Looks for the best move on several threads at once, all searching the 
+ * same position and sharing one {@link TranspositionTable} (Lazy SMP).<br>
+ * One thread's search decides the move; the helpers search the same root 
+ * at staggered depths, and what they store in the table lets that search 
+ * cut its tree short. Threads share nothing else, so the nodes searched 
+ * per second grow with the number of cores.<br>
+ * Helpers run on a pool of threads that every ParallelSearch shares and 
+ * that lets threads go once they have been idle for a while, so nothing 
+ * needs to be shut down.<br>
+ * Run with <code>java -cp build/classes offlinechess.ParallelSearch 
+ * threads milliseconds [fen]</code> to analyze a position.
+ * @author Jed Wang
+ */
+public class ParallelSearch {
+    /**
+     * The threads the helpers of every ParallelSearch run on
+     */
+    private static final ExecutorService HELPERS = Executors.newCachedThreadPool((Runnable r) -> {
+        Thread t = new Thread(r, "Search helper");
+        t.setDaemon(true);
+        return t;
+    });
+    
+    /**
+     * The searches, one per thread; the first one decides the move
+     */
+    private final Search[] searches;
+    
+    /**
+     * The helpers that are searching
+     */
+    private final Future<?>[] helpers;
+    
+    /**
+     * The table every thread shares
+     */
+    private final TranspositionTable table;
+    
+    /**
+     * Creates a new ParallelSearch
+     * @param threads how many threads to search on, at least 1
+     * @param table the transposition table the threads share, which may 
+     * also be shared with other searches
+     */
+    public ParallelSearch(int threads, TranspositionTable table) {
+        if(threads < 1) throw new IllegalArgumentException("Cannot search on " + threads + " threads");
+        this.table = table;
+        searches = new Search[threads];
+        for(int i = 0; i < threads; i++) {
+            searches[i] = new Search(table);
+        }
+        helpers = new Future<?>[threads];
+    }
+    
+    /**
+     * Looks for the best move of the side to move. Returns once every 
+     * thread has stopped.<br>
+     * A {@link #stop()} from before the search started still counts, so 
+     * that a stop cannot be lost while the caller reads the position to 
+     * search; call {@link #restart()} before reading it.
+     * @param position the position to search, which is left as it is and 
+     * must not change while it is searched
+     * @param maxDepth how many plies deep to look at most, at least 1
+     * @param millis how long to look at most, in milliseconds, or 0 for 
+     * as long as it takes; the first ply is always searched completely
+     * @return the best move, packed as in {@link Move}, or 0 if the side 
+     * to move has no legal move
+     * @see Search#search(ChessBoard, int, long)
+     */
+    public int search(ChessBoard position, int maxDepth, long millis) {
+        if(maxDepth < 1) throw new IllegalArgumentException("Cannot search depth " + maxDepth);
+        if(millis < 0) throw new IllegalArgumentException("Negative time: " + millis);
+        table.newSearch();
+        for(int i = 1; i < searches.length; i++) {
+            searches[i].restart();
+            final int helper = i;
+            helpers[i] = HELPERS.submit(() -> searches[helper].search(position, maxDepth, 0, helper));
+        }
+        try {
+            return searches[0].search(position, maxDepth, millis, 0);
+        } finally {
+            for(int i = 1; i < searches.length; i++) {
+                searches[i].stop();
+            }
+            for(int i = 1; i < searches.length; i++) {
+                awaitHelper(i);
+            }
+        }
+    }
+    
+    /**
+     * Waits for a helper to stop
+     * @param i which helper
+     */
+    private void awaitHelper(int i) {
+        boolean interrupted = false;
+        try {
+            while(true) {
+                try {
+                    helpers[i].get();
+                    return;
+                } catch(InterruptedException ie) {
+                    // the helper stops soon anyway, and its search must not be reused before
+                    interrupted = true;
+                } catch(ExecutionException ee) {
+                    throw new IllegalStateException("Search helper failed", ee.getCause());
+                }
+            }
+        } finally {
+            helpers[i] = null;
+            if(interrupted) Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Clears the stop of the last search, so that this can search again
+     */
+    public void restart() {
+        searches[0].restart();
+    }
+    
+    /**
+     * Stops every thread as soon as possible; the search returns the best 
+     * move of the last depth it searched completely
+     */
+    public void stop() {
+        for(Search s : searches) {
+            s.stop();
+        }
+    }
+    
+    /**
+     * Returns how many threads this searches on
+     * @return how many threads there are
+     */
+    public int getThreads() {
+        return searches.length;
+    }
+    
+    /**
+     * Returns the score of the best move of the last search
+     * @return the score in centipawns, from the side that was to move, 
+     * or near {@link Search#MATE} for a forced mate
+     */
+    public int getScore() {
+        return searches[0].getScore();
+    }
+    
+    /**
+     * Returns how deep the last search went
+     * @return the deepest depth that was searched completely
+     */
+    public int getDepth() {
+        return searches[0].getDepth();
+    }
+    
+    /**
+     * Returns how many nodes the last search looked at, on every thread
+     * @return how many nodes were searched
+     */
+    public long getNodes() {
+        long output = 0;
+        for(Search s : searches) {
+            output += s.getNodes();
+        }
+        return output;
+    }
+    
+    /**
+     * Returns the line the last search expects to be played
+     * @return the moves of the line, packed as in {@link Move}
+     */
+    public int[] getPrincipalVariation() {
+        return searches[0].getPrincipalVariation();
+    }
+    
+    /**
+     * Analyzes a position from the command line
+     * @param args how many threads to search on, how many milliseconds to 
+     * search for, and optionally a FEN, which is the starting position if 
+     * left out
+     */
+    public static void main(String[] args) {
+        if(args.length < 2) {
+            System.out.println("Usage: ParallelSearch threads milliseconds [fen]");
+            return;
+        }
+        int threads = Integer.parseInt(args[0]);
+        long millis = Long.parseLong(args[1]);
+        StringBuilder fen = new StringBuilder();
+        for(int i = 2; i < args.length; i++) {
+            if(i != 2) fen.append(' ');
+            fen.append(args[i]);
+        }
+        ChessBoard cb = (fen.length() == 0)?new ChessBoard():new ChessBoard(fen.toString());
+        ParallelSearch search = new ParallelSearch(threads, new TranspositionTable(256));
+        search.restart();
+        
+        long start = System.nanoTime();
+        int move = search.search(cb, Search.MAX_PLY, millis);
+        long nanos = Math.max(1, System.nanoTime() - start);
+        StringBuilder line = new StringBuilder();
+        for(int m : search.getPrincipalVariation()) {
+            line.append(' ').append(Move.toString(m));
+        }
+        System.out.println("Best move: " + ((move == 0)?"none":Move.toString(move)));
+        System.out.println("Depth: " + search.getDepth() + ", score: " + search.getScore());
+        System.out.println("Line:" + line);
+        System.out.println("Nodes: " + search.getNodes() + " in " + nanos / 1000000 + " ms");
+        System.out.println("Nodes per second: " + search.getNodes() * 1000000000L / nanos);
+    }
+}
\ No newline at end of file
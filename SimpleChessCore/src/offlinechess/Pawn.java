@@ -0,0 +1,71 @@
+package offlinechess;
+
+import java.util.LinkedList;
+
+/**
+ * A class that represents a pawn
+ * @author Jed Wang
+ */
+public class Pawn extends AbstractPiece {
+    /**
+     * The white pawn
+     */
+    private static final Pawn WHITE = new Pawn(true);
+    
+    /**
+     * The black pawn
+     */
+    private static final Pawn BLACK = new Pawn(false);
+    
+    /**
+     * Creates a new Pawn
+     * @param isWhite whether the pawn is white or black
+     */
+    private Pawn(boolean isWhite) {
+        super(isWhite);
+    }
+    
+    /**
+     * Returns the pawn of one color.<br>
+     * Pieces carry no state, so every board shares the same two.
+     * @param isWhite whether the pawn is white or black
+     * @return the pawn of that color
+     */
+    public static Pawn getInstance(boolean isWhite) {
+        return (isWhite)?WHITE:BLACK;
+    }
+
+    @Override
+    public LinkedList<Integer> allLegalMoves(ChessBoard cb, int currentPosition) {
+        if(!ChessBoard.isValidSquare(currentPosition)) throw new IllegalArgumentException("Invalid square");
+        if(cb.getPiece(currentPosition).getPieceType() != MoveRecorder.PAWN) throw new IllegalArgumentException("This isn\'t a pawn!");
+        int row = currentPosition%10, index = Bitboards.toIndex(currentPosition);
+        long empty = ~cb.getOccupancy(), targets;
+        if(isWhite) {
+            if(row == 0) assert false : "Pawns should have promoted already!";
+            if(row == 7) assert false : "Dafuq white pawns shouldn\'t be on the first rank";
+            targets = (Bitboards.bit(index) >>> 8) & empty;
+            if(row == 6) targets |= (targets >>> 8) & empty;
+        } else {
+            if(row == 7) assert false : "Pawns should have promoted already!";
+            if(row == 0) assert false : "Dafuq black pawns shouldn\'t be on the eighth rank";
+            targets = (Bitboards.bit(index) << 8) & empty;
+            if(row == 1) targets |= (targets << 8) & empty;
+        }
+        long capturable = cb.getOccupancy(!isWhite);
+        if(ChessBoard.isValidSquare(cb.getEnPassant())) 
+            capturable |= Bitboards.bit(Bitboards.toIndex(cb.getEnPassant()));
+        targets |= Attacks.pawn(index, isWhite) & capturable;
+        return toSquares(targets);
+    }
+    
+    @Override
+    public String getCharRepresentation() {
+        return "P";
+    }
+
+    @Override
+    public int getPieceType() {
+        return MoveRecorder.PAWN;
+    }
+}
\ No newline at end of file
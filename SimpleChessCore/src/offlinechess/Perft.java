@@ -0,0 +1,227 @@
+package offlinechess;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Counts the leaf nodes of the move tree of a position to a fixed depth, 
+ * to check the move generator against known counts and to time it.<br>
+ * At the last ply the moves are only counted, not made. Each ply reuses 
+ * its own MoveList, so counting allocates nothing.<br>
+ * Run with <code>java -cp build/classes offlinechess.Perft depth [fen]</code>
+ * to divide a position, or <code>offlinechess.Perft suite [max depth]</code>
+ * to run the reference positions in <code>perft.epd</code>.
+ * @author Jed Wang
+ */
+public class Perft {
+    /**
+     * The board to count the moves of
+     */
+    private final ChessBoard cb;
+    
+    /**
+     * One move list per ply
+     */
+    private MoveList[] lists = new MoveList[0];
+    
+    /**
+     * Creates a new Perft
+     * @param cb the board to count the moves of, which is left as it was 
+     * after every count
+     */
+    public Perft(ChessBoard cb) {
+        this.cb = cb;
+    }
+    
+    /**
+     * Counts the leaf nodes to a depth
+     * @param depth how many plies deep to look
+     * @return how many positions there are at that depth
+     */
+    public long count(int depth) {
+        if(depth < 0) throw new IllegalArgumentException("Negative depth: " + depth);
+        ensureLists(depth);
+        return count(depth, 0);
+    }
+    
+    /**
+     * Counts the leaf nodes to a depth, and prints how many there are 
+     * after each move of the side to move
+     * @param depth how many plies deep to look, at least 1
+     * @param out where to print the counts
+     * @return how many positions there are at that depth
+     */
+    public long divide(int depth, PrintStream out) {
+        if(depth < 1) throw new IllegalArgumentException("Cannot divide depth " + depth);
+        ensureLists(depth);
+        MoveList moves = lists[0];
+        moves.clear();
+        cb.generateMoves(moves);
+        long total = 0;
+        for(int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            cb.makeMove(move);
+            long nodes = count(depth - 1, 1);
+            cb.unmakeMove();
+            out.println(Move.toString(move) + ": " + nodes);
+            total += nodes;
+        }
+        return total;
+    }
+    
+    /**
+     * Makes sure there is a move list for every ply
+     * @param depth how many plies deep to look
+     */
+    private void ensureLists(int depth) {
+        if(lists.length >= depth) return;
+        MoveList[] more = new MoveList[depth];
+        System.arraycopy(lists, 0, more, 0, lists.length);
+        for(int i = lists.length; i < depth; i++) {
+            more[i] = new MoveList();
+        }
+        lists = more;
+    }
+    
+    /**
+     * Counts the leaf nodes below the current position
+     * @param depth how many plies are left
+     * @param ply how many plies have been made
+     * @return how many positions there are at that depth
+     */
+    private long count(int depth, int ply) {
+        if(depth == 0) return 1;
+        if(depth == 1) return countMoves();
+        MoveList moves = lists[ply];
+        moves.clear();
+        cb.generateMoves(moves);
+        long nodes = 0;
+        for(int i = 0; i < moves.size(); i++) {
+            cb.makeMove(moves.get(i));
+            nodes += count(depth - 1, ply + 1);
+            cb.unmakeMove();
+        }
+        return nodes;
+    }
+    
+    /**
+     * Counts the legal moves of the side to move without listing them
+     * @return how many legal moves there are, one per promotion piece
+     */
+    private int countMoves() {
+        boolean white = cb.currentPlayer();
+        long pawns = cb.getBitboard(MoveRecorder.PAWN, white);
+        long own = cb.getOccupancy(white);
+        int moves = 0;
+        while(own != 0) {
+            int index = Bitboards.first(own);
+            own &= own - 1;
+            long targets = cb.legalTargets(Bitboards.toSquare(index));
+            moves += Long.bitCount(targets);
+            if((pawns & Bitboards.bit(index)) != 0) {
+                // the last ranks: four moves for each
+                moves += 3 * Long.bitCount(targets & 0xFF000000000000FFL);
+            }
+        }
+        return moves;
+    }
+    
+    /**
+     * Runs perft from the command line
+     * @param args either a depth and optionally a FEN to divide, which is 
+     * the starting position if left out, or "suite" and optionally the 
+     * deepest depth to run
+     */
+    public static void main(String[] args) {
+        if(args.length == 0) {
+            System.err.println("Usage: Perft depth [fen] | Perft suite [max depth]");
+            System.exit(2);
+        }
+        if(args[0].equals("suite")) {
+            int maxDepth = (args.length > 1)?Integer.parseInt(args[1]):Integer.MAX_VALUE;
+            System.exit((runSuite(maxDepth, System.out))?0:1);
+        }
+        int depth = Integer.parseInt(args[0]);
+        String fen = (args.length > 1)? 
+                String.join(" ", Arrays.copyOfRange(args, 1, args.length)): 
+                ChessBoard.STARTING_FEN;
+        ChessBoard cb = new ChessBoard(fen);
+        long start = System.nanoTime();
+        long nodes = new Perft(cb).divide(depth, System.out);
+        long time = System.nanoTime() - start;
+        System.out.println();
+        System.out.println("Nodes: " + nodes);
+        report(nodes, time, System.out);
+    }
+    
+    /**
+     * Runs every reference position in <code>perft.epd</code>.<br>
+     * Each line holds a FEN followed by the expected counts, 
+     * as in <code>;D1 20 ;D2 400</code>.
+     * @param maxDepth the deepest depth to check
+     * @param out where to print the results
+     * @return whether every count was right
+     */
+    public static boolean runSuite(int maxDepth, PrintStream out) {
+        InputStream in = Perft.class.getResourceAsStream("perft.epd");
+        if(in == null) {
+            out.println("Could not find perft.epd");
+            return false;
+        }
+        ChessBoard cb = new ChessBoard();
+        Perft perft = new Perft(cb);
+        boolean passed = true;
+        long nodes = 0, time = 0;
+        try(BufferedReader br = new BufferedReader(
+                new InputStreamReader(in, StandardCharsets.US_ASCII))) {
+            String line;
+            while((line = br.readLine()) != null) {
+                int fields = line.indexOf(';');
+                if(fields == -1) continue;
+                cb.loadFEN(line, 0, fields);
+                out.print(line.substring(0, fields).trim());
+                for(String field : line.substring(fields + 1).split(";")) {
+                    String[] parts = field.trim().split(" ");
+                    int depth = Integer.parseInt(parts[0].substring(1));
+                    if(depth > maxDepth) continue;
+                    long expected = Long.parseLong(parts[1]);
+                    long start = System.nanoTime();
+                    long found = perft.count(depth);
+                    time += System.nanoTime() - start;
+                    nodes += found;
+                    if(found == expected) {
+                        out.print(" D" + depth + " ok");
+                    } else {
+                        out.print(" D" + depth + " FAILED: " + found + 
+                                " instead of " + expected);
+                        passed = false;
+                    }
+                }
+                out.println();
+            }
+        } catch(IOException e) {
+            out.println("Could not read perft.epd: " + e.getMessage());
+            return false;
+        }
+        out.println();
+        out.println((passed)?"All counts are right":"SOME COUNTS ARE WRONG");
+        report(nodes, time, out);
+        return passed;
+    }
+    
+    /**
+     * Prints how long counting took and how fast it was
+     * @param nodes how many leaf nodes were counted
+     * @param time how long it took, in nanoseconds
+     * @param out where to print it
+     */
+    private static void report(long nodes, long time, PrintStream out) {
+        out.println("Time: " + time / 1000000 + " ms");
+        out.println("Nodes per second: " + ((time == 0)?0:nodes * 1000000000L / time));
+    }
+}
\ No newline at end of file
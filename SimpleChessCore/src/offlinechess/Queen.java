@@ -0,0 +1,54 @@
+package offlinechess;
+
+import java.util.LinkedList;
+
+/**
+ * A class that represents the queen
+ * @author Jed Wang
+ */
+public class Queen extends AbstractPiece {
+    /**
+     * The white queen
+     */
+    private static final Queen WHITE = new Queen(true);
+    
+    /**
+     * The black queen
+     */
+    private static final Queen BLACK = new Queen(false);
+    
+    /**
+     * Creates a new Queen
+     * @param isWhite whether the queen is white or black
+     */
+    private Queen(boolean isWhite) {
+        super(isWhite);
+    }
+    
+    /**
+     * Returns the queen of one color.<br>
+     * Pieces carry no state, so every board shares the same two.
+     * @param isWhite whether the queen is white or black
+     * @return the queen of that color
+     */
+    public static Queen getInstance(boolean isWhite) {
+        return (isWhite)?WHITE:BLACK;
+    }
+
+    @Override
+    public LinkedList<Integer> allLegalMoves(ChessBoard cb, int currentPosition) {
+        if(!ChessBoard.isValidSquare(currentPosition)) throw new IllegalArgumentException("Invalid square");
+        if(cb.getPiece(currentPosition).getPieceType() != MoveRecorder.QUEEN) throw new IllegalArgumentException("This isn\'t a queen!");
+        return toSquares(Attacks.queen(Bitboards.toIndex(currentPosition), cb.getOccupancy()) & ~cb.getOccupancy(isWhite));
+    }
+    
+    @Override
+    public String getCharRepresentation() {
+        return "Q";
+    }
+
+    @Override
+    public int getPieceType() {
+        return MoveRecorder.QUEEN;
+    }
+}
\ No newline at end of file
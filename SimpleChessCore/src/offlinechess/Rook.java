@@ -0,0 +1,54 @@
+package offlinechess;
+
+import java.util.LinkedList;
+
+/**
+ * A class that represents a rook
+ * @author Jed Wang
+ */
+public class Rook extends AbstractPiece {
+    /**
+     * The white rook
+     */
+    private static final Rook WHITE = new Rook(true);
+    
+    /**
+     * The black rook
+     */
+    private static final Rook BLACK = new Rook(false);
+    
+    /**
+     * Creates a new Rook
+     * @param isWhite whether the rook is white or black
+     */
+    private Rook(boolean isWhite) {
+        super(isWhite);
+    }
+    
+    /**
+     * Returns the rook of one color.<br>
+     * Pieces carry no state, so every board shares the same two.
+     * @param isWhite whether the rook is white or black
+     * @return the rook of that color
+     */
+    public static Rook getInstance(boolean isWhite) {
+        return (isWhite)?WHITE:BLACK;
+    }
+
+    @Override
+    public LinkedList<Integer> allLegalMoves(ChessBoard cb, int currentPosition) {
+        if(!ChessBoard.isValidSquare(currentPosition)) throw new IllegalArgumentException("Invalid square");
+        if(cb.getPiece(currentPosition).getPieceType() != MoveRecorder.ROOK) throw new IllegalArgumentException("This isn\'t a rook!");
+        return toSquares(Attacks.rook(Bitboards.toIndex(currentPosition), cb.getOccupancy()) & ~cb.getOccupancy(isWhite));
+    }
+    
+    @Override
+    public String getCharRepresentation() {
+        return "R";
+    }
+
+    @Override
+    public int getPieceType() {
+        return MoveRecorder.ROOK;
+    }
+}
\ No newline at end of file
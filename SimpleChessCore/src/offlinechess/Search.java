@@ -0,0 +1,583 @@
+package offlinechess;
+
+import java.util.Arrays;
+
+/**
+ * Looks for the best move in a position with an alpha-beta search.<br>
+ * The search deepens one ply at a time, searching the best line of the 
+ * last depth first, and from the fourth ply on it starts with a narrow 
+ * window around the last score, widening it only when the score falls 
+ * outside. Every move after the first is searched with a null window 
+ * first (principal variation search), and only searched again if it 
+ * turns out better.<br>
+ * What is found out about each position goes into a 
+ * {@link TranspositionTable}, which can be shared with other searches, so 
+ * that positions reached again by other move orders are not searched 
+ * again. Where the search stops, it goes on with only captures and 
+ * promotions that do not lose material (quiescence search), so that 
+ * {@link Evaluation} only scores positions where nothing is hanging.<br>
+ * A Search keeps its own board and one move list per ply, so it can be 
+ * reused for move after move without allocating while it searches. It is 
+ * not safe to use from two threads at once, except for {@link #stop()}.
+ * @author Jed Wang
+ */
+public class Search {
+    /**
+     * The score of checkmating right away; a mate n plies away scores 
+     * MATE - n
+     */
+    public static final int MATE = 30000;
+    
+    /**
+     * The deepest the search goes, counting check extensions
+     */
+    public static final int MAX_PLY = 100;
+    
+    /**
+     * Beyond any score
+     */
+    private static final int INFINITY = 32000;
+    
+    /**
+     * How far from the last score the first aspiration window reaches
+     */
+    private static final int WINDOW = 25;
+    
+    /**
+     * How big a Search's own transposition table is, in megabytes
+     */
+    private static final int DEFAULT_TABLE_SIZE = 16;
+    
+    /**
+     * How many nodes to search between looking at the clock, less one
+     */
+    private static final int CHECK_INTERVAL = 2047;
+    
+    /**
+     * The order the moves are tried in: the best move found before, 
+     * from the last depth or the transposition table, captures, killers, 
+     * then the other moves by history
+     */
+    private static final int PV_MOVE = 1 << 30, CAPTURE = 1 << 28, 
+            KILLER = 1 << 27;
+    
+    /**
+     * The board that is searched
+     */
+    private final ChessBoard cb = new ChessBoard();
+    
+    /**
+     * What is known about the positions searched so far
+     */
+    private final TranspositionTable table;
+    
+    /**
+     * The moves of each ply
+     */
+    private final MoveList[] lists = new MoveList[MAX_PLY];
+    
+    /**
+     * How good each move of each ply looks, to try them in that order
+     */
+    private final int[][] orders = new int[MAX_PLY][256];
+    
+    /**
+     * The best line found from each ply, as a triangular table
+     */
+    private final int[][] pv = new int[MAX_PLY][MAX_PLY];
+    
+    /**
+     * How long the best line from each ply is
+     */
+    private final int[] pvLength = new int[MAX_PLY];
+    
+    /**
+     * The best line of the last depth that was searched completely
+     */
+    private final int[] bestLine = new int[MAX_PLY];
+    
+    /**
+     * How long the best line of the last completed depth is
+     */
+    private int bestLineLength = 0;
+    
+    /**
+     * Whether the search is still on the best line of the last depth
+     */
+    private boolean followPv;
+    
+    /**
+     * Two quiet moves per ply that refuted another move
+     */
+    private final int[][] killers = new int[MAX_PLY][2];
+    
+    /**
+     * How often each quiet move, from square to square, refuted another
+     */
+    private final int[] history = new int[64 * 64];
+    
+    /**
+     * How many nodes have been searched
+     */
+    private long nodes;
+    
+    /**
+     * When to stop, in the terms of {@link System#nanoTime()}
+     */
+    private long deadline;
+    
+    /**
+     * Whether the search has to stop
+     */
+    private volatile boolean stopped;
+    
+    /**
+     * The score of the best move, from the side to move
+     */
+    private int score;
+    
+    /**
+     * The deepest depth that was searched completely
+     */
+    private int depth;
+    
+    /**
+     * Creates a new Search with a transposition table of its own
+     */
+    public Search() {
+        this(new TranspositionTable(DEFAULT_TABLE_SIZE));
+    }
+    
+    /**
+     * Creates a new Search
+     * @param table the transposition table to use, which may be shared 
+     * with other searches, even ones running at the same time
+     */
+    public Search(TranspositionTable table) {
+        this.table = table;
+        for(int i = 0; i < MAX_PLY; i++) {
+            lists[i] = new MoveList();
+        }
+    }
+    
+    /**
+     * Looks for the best move of the side to move
+     * @param position the position to search, which is left as it is
+     * @param maxDepth how many plies deep to look at most, at least 1
+     * @param millis how long to look at most, in milliseconds, or 0 for 
+     * as long as it takes; the first ply is always searched completely
+     * @return the best move, packed as in {@link Move}, or 0 if the side 
+     * to move has no legal move
+     */
+    public int search(ChessBoard position, int maxDepth, long millis) {
+        restart();
+        table.newSearch();
+        return search(position, maxDepth, millis, 0);
+    }
+    
+    /**
+     * Looks for the best move of the side to move, as one of the threads 
+     * of a {@link ParallelSearch}.<br>
+     * Helpers skip some of the depths, each its own, so that the threads 
+     * spread out over the depths instead of all searching the same tree; 
+     * what they find reaches the others through the transposition table. 
+     * Unlike {@link #search(ChessBoard, int, long)}, this does not start a 
+     * new generation of the table, and a {@link #stop()} from before it 
+     * started still counts.
+     * @param position the position to search, which is left as it is
+     * @param maxDepth how many plies deep to look at most, at least 1
+     * @param millis how long to look at most, in milliseconds, or 0 for 
+     * as long as it takes
+     * @param helper 0 for the thread whose move is played, and a 
+     * different positive number for each helper
+     * @return the best move, packed as in {@link Move}, or 0 if the side 
+     * to move has no legal move
+     */
+    int search(ChessBoard position, int maxDepth, long millis, int helper) {
+        if(maxDepth < 1) throw new IllegalArgumentException("Cannot search depth " + maxDepth);
+        if(millis < 0) throw new IllegalArgumentException("Negative time: " + millis);
+        long start = System.nanoTime();
+        deadline = (millis == 0)?Long.MAX_VALUE:start + millis * 1000000;
+        cb.copyFrom(position, true);
+        clearTables();
+        nodes = 0;
+        score = depth = bestLineLength = 0;
+        
+        MoveList root = lists[0];
+        root.clear();
+        cb.generateMoves(root);
+        if(root.isEmpty()) return 0;
+        bestLine[0] = root.get(0);
+        
+        maxDepth = Math.min(maxDepth, MAX_PLY - 1);
+        for(int d = 1; d <= maxDepth; d++) {
+            if(helper != 0 && skips(helper, d)) continue;
+            followPv = true;
+            int result = aspiration(d, score);
+            if(stopped) break;
+            score = result;
+            depth = d;
+            bestLineLength = pvLength[0];
+            System.arraycopy(pv[0], 0, bestLine, 0, bestLineLength);
+            // a forced mate is not going to get any better
+            if(Math.abs(score) >= MATE - d) break;
+            // nor is the only move there is
+            if(root.size() == 1 && millis != 0) break;
+            // the next depth takes longer than all before it together
+            if(millis != 0 && (System.nanoTime() - start) * 2 > millis * 1000000) break;
+        }
+        return bestLine[0];
+    }
+    
+    /**
+     * Determines whether a helper skips a depth. Helpers skip every other 
+     * depth, or every other two or three depths, each starting somewhere 
+     * else.
+     * @param helper which helper
+     * @param d the depth
+     * @return whether the helper skips the depth
+     */
+    private static boolean skips(int helper, int d) {
+        int size = 1 + (helper - 1) / 2 % 3;
+        return (d + helper) / size % 2 == 1;
+    }
+    
+    /**
+     * Clears the stop of the last search, so that this can search again
+     */
+    void restart() {
+        stopped = false;
+    }
+    
+    /**
+     * Stops the search as soon as possible; it returns the best move of 
+     * the last depth it searched completely
+     */
+    public void stop() {
+        stopped = true;
+    }
+    
+    /**
+     * Returns the score of the best move of the last search
+     * @return the score in centipawns, from the side that was to move, 
+     * or near {@link #MATE} for a forced mate
+     */
+    public int getScore() {
+        return score;
+    }
+    
+    /**
+     * Returns how deep the last search went
+     * @return the deepest depth that was searched completely
+     */
+    public int getDepth() {
+        return depth;
+    }
+    
+    /**
+     * Returns how many nodes the last search looked at
+     * @return how many nodes were searched
+     */
+    public long getNodes() {
+        return nodes;
+    }
+    
+    /**
+     * Returns the line the last search expects to be played
+     * @return the moves of the line, packed as in {@link Move}
+     */
+    public int[] getPrincipalVariation() {
+        return Arrays.copyOf(bestLine, bestLineLength);
+    }
+    
+    /**
+     * Forgets the killers and most of the history of the last search
+     */
+    private void clearTables() {
+        for(int[] k : killers) {
+            k[0] = k[1] = 0;
+        }
+        for(int i = 0; i < history.length; i++) {
+            history[i] >>= 3;
+        }
+    }
+    
+    /**
+     * Searches the root to a depth, with a window around the last score 
+     * that widens whenever the score falls outside of it
+     * @param d how many plies deep to look
+     * @param last the score of the last depth
+     * @return the score of the root
+     */
+    private int aspiration(int d, int last) {
+        if(d < 4) return search(d, 0, -INFINITY, INFINITY);
+        int delta = WINDOW;
+        int alpha = Math.max(last - delta, -INFINITY), 
+                beta = Math.min(last + delta, INFINITY);
+        while(true) {
+            int result = search(d, 0, alpha, beta);
+            if(stopped) return result;
+            if(result <= alpha) {
+                alpha = Math.max(result - delta, -INFINITY);
+            } else if(result >= beta) {
+                beta = Math.min(result + delta, INFINITY);
+            } else return result;
+            delta *= 2;
+            followPv = true;
+        }
+    }
+    
+    /**
+     * Searches the current position with negamax alpha-beta
+     * @param d how many plies are left
+     * @param ply how many plies have been made from the root
+     * @param alpha the score the side to move already has
+     * @param beta the score the other side already has
+     * @return the score, from the side to move
+     */
+    private int search(int d, int ply, int alpha, int beta) {
+        boolean inCheck = cb.inCheck(cb.currentPlayer());
+        if(inCheck) d++;
+        if(d <= 0) return quiesce(ply, alpha, beta);
+        pvLength[ply] = ply;
+        if(countNode()) return 0;
+        if(ply >= MAX_PLY - 1) return Evaluation.evaluate(cb);
+        
+        if(ply > 0) {
+            if(cb.repetitions() > 0 || cb.is50MoveDraw() || cb.insufficientMaterial())
+                return 0;
+            // no line can do better than mating right away
+            alpha = Math.max(alpha, -MATE + ply);
+            beta = Math.min(beta, MATE - ply - 1);
+            if(alpha >= beta) return alpha;
+        }
+        
+        long key = cb.getHash();
+        long entry = table.probe(key);
+        if(entry != 0 && ply > 0 && TranspositionTable.depth(entry) >= d) {
+            int stored = fromTable(TranspositionTable.score(entry), ply);
+            switch(TranspositionTable.bound(entry)) {
+                case TranspositionTable.EXACT:
+                    return stored;
+                case TranspositionTable.LOWER:
+                    if(stored >= beta) return stored;
+                    break;
+                case TranspositionTable.UPPER:
+                    if(stored <= alpha) return stored;
+                    break;
+            }
+        }
+        
+        MoveList moves = lists[ply];
+        moves.clear();
+        cb.generateMoves(moves);
+        if(moves.isEmpty()) return (inCheck)?-MATE + ply:0;
+        int[] order = orderMoves(moves, ply, TranspositionTable.move(entry));
+        
+        int best = -INFINITY, bestMove = 0, oldAlpha = alpha;
+        for(int i = 0; i < moves.size(); i++) {
+            int move = pickMove(moves, order, i);
+            cb.makeMove(move);
+            int result;
+            if(i == 0) {
+                result = -search(d - 1, ply + 1, -beta, -alpha);
+            } else {
+                result = -search(d - 1, ply + 1, -alpha - 1, -alpha);
+                if(result > alpha && result < beta)
+                    result = -search(d - 1, ply + 1, -beta, -alpha);
+            }
+            cb.unmakeMove();
+            followPv = false;
+            if(stopped) return 0;
+            
+            if(result > best) {
+                best = result;
+                bestMove = move;
+                if(result > alpha) {
+                    alpha = result;
+                    pv[ply][ply] = move;
+                    System.arraycopy(pv[ply + 1], ply + 1, pv[ply], ply + 1, 
+                            pvLength[ply + 1] - ply - 1);
+                    pvLength[ply] = Math.max(pvLength[ply + 1], ply + 1);
+                    if(alpha >= beta) {
+                        if((move & Move.CAPTURE) == 0 && Move.promotion(move) == 0)
+                            rememberQuiet(move, ply, d);
+                        break;
+                    }
+                }
+            }
+        }
+        int bound = (best >= beta)?TranspositionTable.LOWER: 
+                (best > oldAlpha)?TranspositionTable.EXACT:TranspositionTable.UPPER;
+        table.store(key, bestMove, toTable(best, ply), d, bound);
+        return best;
+    }
+    
+    /**
+     * Searches only the captures and promotions of the current position 
+     * (quiescence search), until it is quiet enough to be evaluated.<br>
+     * The side to move may also stand pat on the evaluation, unless it is 
+     * in check, in which case every way out of check is searched. Captures 
+     * that lose material by {@link ChessBoard#staticExchange(int)}, and 
+     * underpromotions, are not searched.
+     * @param ply how many plies have been made from the root
+     * @param alpha the score the side to move already has
+     * @param beta the score the other side already has
+     * @return the score, from the side to move
+     */
+    private int quiesce(int ply, int alpha, int beta) {
+        pvLength[ply] = ply;
+        if(countNode()) return 0;
+        if(ply >= MAX_PLY - 1) return Evaluation.evaluate(cb);
+        boolean inCheck = cb.inCheck(cb.currentPlayer());
+        MoveList moves = lists[ply];
+        moves.clear();
+        int best;
+        if(inCheck) {
+            cb.generateMoves(moves);
+            if(moves.isEmpty()) return -MATE + ply;
+            best = -INFINITY;
+        } else {
+            best = Evaluation.evaluate(cb);
+            if(best >= beta) return best;
+            alpha = Math.max(alpha, best);
+            cb.generateCaptures(moves);
+        }
+        int[] order = orderMoves(moves, ply, 0);
+        
+        for(int i = 0; i < moves.size(); i++) {
+            int move = pickMove(moves, order, i);
+            if(!inCheck) {
+                int promotion = Move.promotion(move);
+                if(promotion != 0 && promotion != MoveRecorder.QUEEN) continue;
+                if((move & Move.CAPTURE) != 0 && cb.staticExchange(move) < 0) continue;
+            }
+            cb.makeMove(move);
+            int result = -quiesce(ply + 1, -beta, -alpha);
+            cb.unmakeMove();
+            if(stopped) return 0;
+            
+            if(result > best) {
+                best = result;
+                if(result > alpha) {
+                    alpha = result;
+                    if(alpha >= beta) break;
+                }
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Counts a node, and every so often looks at the clock
+     * @return whether the search has to stop
+     */
+    private boolean countNode() {
+        if((++nodes & CHECK_INTERVAL) == 0 && depth > 0 && System.nanoTime() > deadline)
+            stopped = true;
+        return stopped;
+    }
+    
+    /**
+     * Turns a score into one for the transposition table: mates are 
+     * counted from the position, not from the root
+     * @param score the score
+     * @param ply how many plies have been made from the root
+     * @return the score to store
+     */
+    private static int toTable(int score, int ply) {
+        if(score >= MATE - MAX_PLY) return score + ply;
+        if(score <= -MATE + MAX_PLY) return score - ply;
+        return score;
+    }
+    
+    /**
+     * Turns a score from the transposition table back into one from the 
+     * root
+     * @param score the stored score
+     * @param ply how many plies have been made from the root
+     * @return the score
+     */
+    private static int fromTable(int score, int ply) {
+        if(score >= MATE - MAX_PLY) return score - ply;
+        if(score <= -MATE + MAX_PLY) return score + ply;
+        return score;
+    }
+    
+    /**
+     * Remembers a quiet move that refuted another move
+     * @param move the quiet move
+     * @param ply how many plies have been made from the root
+     * @param d how many plies were left
+     */
+    private void rememberQuiet(int move, int ply, int d) {
+        if(killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        int i = (Move.from(move) << 6) | Move.to(move);
+        history[i] = Math.min(history[i] + d * d, KILLER - 1);
+    }
+    
+    /**
+     * Works out how good each move looks, so the best looking ones are 
+     * searched first
+     * @param moves the moves of a ply
+     * @param ply how many plies have been made from the root
+     * @param hashMove the best move the transposition table knows of, 
+     * or 0 if it knows none
+     * @return how good each move looks
+     */
+    private int[] orderMoves(MoveList moves, int ply, int hashMove) {
+        int[] order = orders[ply];
+        if(order.length < moves.size()) order = orders[ply] = new int[moves.size()];
+        int pvMove = hashMove;
+        if(followPv) {
+            if(ply < bestLineLength) pvMove = bestLine[ply];
+            else followPv = false;
+        }
+        for(int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int from = Move.from(move), to = Move.to(move), promotion = Move.promotion(move);
+            if(move == pvMove) {
+                order[i] = PV_MOVE;
+            } else if((move & Move.CAPTURE) != 0 || promotion == MoveRecorder.QUEEN) {
+                // most valuable victim first, by the least valuable attacker
+                int victim = ((move & Move.CAPTURE) == 0)?-1: 
+                        ((move & Move.EN_PASSANT) != 0)?MoveRecorder.PAWN:cb.pieceTypeAt(to);
+                order[i] = CAPTURE + (victim + 1) * 8 + promotion - cb.pieceTypeAt(from);
+            } else if(move == killers[ply][0]) {
+                order[i] = KILLER + 1;
+            } else if(move == killers[ply][1]) {
+                order[i] = KILLER;
+            } else if(promotion != 0) {
+                // underpromotions are hardly ever any good
+                order[i] = -1;
+            } else {
+                order[i] = history[(from << 6) | to];
+            }
+        }
+        return order;
+    }
+    
+    /**
+     * Moves the best looking move left to a position in place
+     * @param moves the moves of a ply
+     * @param order how good each move looks
+     * @param i the position to fill
+     * @return the move now in that position
+     */
+    private static int pickMove(MoveList moves, int[] order, int i) {
+        int best = i;
+        for(int j = i + 1; j < moves.size(); j++) {
+            if(order[j] > order[best]) best = j;
+        }
+        if(best != i) {
+            moves.swap(i, best);
+            int o = order[i];
+            order[i] = order[best];
+            order[best] = o;
+        }
+        return moves.get(i);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,188 @@
+package offlinechess;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size table of what searches have found out about positions, 
+ * keyed by their Zobrist hashes, that any number of searching threads can 
+ * share without locking.<br>
+ * Every entry is two longs: the entry packed into one, and the hash XORed 
+ * with it in the other. A thread that reads an entry another thread is 
+ * still writing sees a hash that does not match, so it simply misses.<br>
+ * The entries come in buckets of two. The first keeps whatever was 
+ * searched deepest, unless it is from an older search; the second always 
+ * takes the newest entry, so that shallow results still have somewhere to 
+ * go.
+ * @author Jed Wang
+ */
+public class TranspositionTable {
+    /**
+     * The score is at least the one stored
+     */
+    public static final int LOWER = 1;
+    
+    /**
+     * The score is at most the one stored
+     */
+    public static final int UPPER = 2;
+    
+    /**
+     * The score is exactly the one stored
+     */
+    public static final int EXACT = 3;
+    
+    /**
+     * How many longs make up a bucket: two per entry
+     */
+    private static final int BUCKET = 4;
+    
+    /**
+     * Where each part starts in a packed entry: the move is 19 bits, the 
+     * score 16, the depth 8, the bound 2 and the generation 8
+     */
+    private static final int SCORE_SHIFT = 19, DEPTH_SHIFT = 35, 
+            BOUND_SHIFT = 43, GENERATION_SHIFT = 45;
+    
+    /**
+     * The buckets, one after another
+     */
+    private final long[] table;
+    
+    /**
+     * Which bits of a hash pick its bucket
+     */
+    private final int mask;
+    
+    /**
+     * Which search the table is on, to tell old entries from new ones
+     */
+    private volatile int generation = 0;
+    
+    /**
+     * Creates a new TranspositionTable
+     * @param megabytes how big the table may be, from 1 to 8192 megabytes; 
+     * it is made the largest power of two that fits
+     */
+    public TranspositionTable(int megabytes) {
+        if(megabytes < 1 || megabytes > 8192)
+            throw new IllegalArgumentException("Cannot make a table of " + megabytes + " MB");
+        long buckets = ((long) megabytes << 20) / (BUCKET * 8);
+        buckets = Math.min(Long.highestOneBit(buckets), Integer.MAX_VALUE / BUCKET + 1);
+        table = new long[(int) buckets * BUCKET];
+        mask = (int) buckets - 1;
+    }
+    
+    /**
+     * Returns how big this table is
+     * @return the size of the entries, in megabytes
+     */
+    public int getSizeInMegabytes() {
+        return (int) (((long) table.length * 8) >> 20);
+    }
+    
+    /**
+     * Marks the start of a new search, so that the entries of the searches 
+     * before it are the first to be replaced
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+    
+    /**
+     * Empties this table. Not to be called while it is being searched.
+     */
+    public void clear() {
+        Arrays.fill(table, 0);
+        generation = 0;
+    }
+    
+    /**
+     * Looks up a position
+     * @param key the hash of the position
+     * @return the entry, which can be read with {@link #move(long)}, 
+     * {@link #score(long)}, {@link #depth(long)} and {@link #bound(long)}, 
+     * or 0 if there is none
+     */
+    public long probe(long key) {
+        int i = index(key);
+        for(int slot = i; slot < i + BUCKET; slot += 2) {
+            long data = table[slot + 1];
+            if(data != 0 && (table[slot] ^ data) == key) return data;
+        }
+        return 0;
+    }
+    
+    /**
+     * Stores what a search found out about a position.<br>
+     * If there is no best move, the one stored before for the position is 
+     * kept.
+     * @param key the hash of the position
+     * @param move the best move, packed as in {@link Move}, or 0 for none
+     * @param score the score, which has to fit in 16 bits
+     * @param depth how many plies deep the position was searched
+     * @param bound {@link #LOWER}, {@link #UPPER} or {@link #EXACT}
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        int i = index(key);
+        long first = table[i + 1];
+        boolean firstMatches = first != 0 && (table[i] ^ first) == key;
+        int slot;
+        if(firstMatches || first == 0 || depth >= depth(first) || 
+                ((int) (first >>> GENERATION_SHIFT) & 0xFF) != generation) {
+            slot = i;
+        } else slot = i + 2;
+        long old = table[slot + 1];
+        if(move == 0 && old != 0 && (table[slot] ^ old) == key) move = move(old);
+        
+        long data = move | (long) (score & 0xFFFF) << SCORE_SHIFT | 
+                (long) Math.max(0, Math.min(depth, 0xFF)) << DEPTH_SHIFT | 
+                (long) bound << BOUND_SHIFT | (long) generation << GENERATION_SHIFT;
+        table[slot] = key ^ data;
+        table[slot + 1] = data;
+    }
+    
+    /**
+     * Finds the bucket of a hash
+     * @param key the hash of a position
+     * @return where the bucket starts in the table
+     */
+    private int index(long key) {
+        return ((int) key & mask) * BUCKET;
+    }
+    
+    /**
+     * Reads the best move of an entry
+     * @param data an entry from {@link #probe(long)}
+     * @return the best move, packed as in {@link Move}, or 0 if there is none
+     */
+    public static int move(long data) {
+        return (int) data & 0x7FFFF;
+    }
+    
+    /**
+     * Reads the score of an entry
+     * @param data an entry from {@link #probe(long)}
+     * @return the score
+     */
+    public static int score(long data) {
+        return (short) (data >>> SCORE_SHIFT);
+    }
+    
+    /**
+     * Reads how deep the position of an entry was searched
+     * @param data an entry from {@link #probe(long)}
+     * @return the depth, in plies
+     */
+    public static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+    }
+    
+    /**
+     * Reads what kind of score an entry has
+     * @param data an entry from {@link #probe(long)}
+     * @return {@link #LOWER}, {@link #UPPER} or {@link #EXACT}
+     */
+    public static int bound(long data) {
+        return (int) (data >>> BOUND_SHIFT) & 3;
+    }
+}
\ No newline at end of file
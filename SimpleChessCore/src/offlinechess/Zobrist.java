@@ -0,0 +1,95 @@
+package offlinechess;
+
+import java.util.Random;
+
+/**
+ * The random keys used to hash chess positions.<br>
+ * The hash of a position is the XOR of one key for every piece on the board,
+ * one for the castling rights, one for the en passant file (if a capture
+ * en passant is actually possible) and one if black is to move. Since XOR
+ * undoes itself, {@link ChessBoard} updates the hash as pieces come and go
+ * instead of rebuilding it.
+ * @author Jed Wang
+ */
+public final class Zobrist {
+    /**
+     * The seed for the keys, so that hashes are the same on every run
+     */
+    private static final long SEED = 0x5A0B815L;
+
+    /**
+     * The keys for pieces, by bitboard index * 64 + bit index
+     */
+    private static final long[] PIECES = new long[12 * 64];
+
+    /**
+     * The keys for the castling rights, by the 4-bit castling field
+     */
+    private static final long[] CASTLING = new long[16];
+
+    /**
+     * The keys for the en passant file
+     */
+    private static final long[] EN_PASSANT = new long[8];
+
+    /**
+     * The key for black to move
+     */
+    private static final long BLACK_TO_MOVE;
+
+    static {
+        Random random = new Random(SEED);
+        for(int i = 0; i < PIECES.length; i++) {
+            PIECES[i] = random.nextLong();
+        }
+        for(int i = 0; i < CASTLING.length; i++) {
+            CASTLING[i] = random.nextLong();
+        }
+        for(int i = 0; i < EN_PASSANT.length; i++) {
+            EN_PASSANT[i] = random.nextLong();
+        }
+        BLACK_TO_MOVE = random.nextLong();
+    }
+
+    /**
+     * No instances
+     */
+    private Zobrist() {
+    }
+
+    /**
+     * Returns the key of a piece on a square
+     * @param bitboardIndex which kind of piece, white pieces 0-5 and black 6-11
+     * @param index the bit index of the square
+     * @return the key of that piece on that square
+     */
+    public static long piece(int bitboardIndex, int index) {
+        return PIECES[(bitboardIndex << 6) | index];
+    }
+
+    /**
+     * Returns the key of a set of castling rights
+     * @param castling the castling rights, as stored by {@link ChessBoard}
+     * @return the key of the castling rights
+     */
+    public static long castling(int castling) {
+        return CASTLING[castling];
+    }
+
+    /**
+     * Returns the key of an en passant file
+     * @param column the ABSOLUTE column of the en passant square
+     * @return the key of the en passant file
+     */
+    public static long enPassant(int column) {
+        return EN_PASSANT[column];
+    }
+
+    /**
+     * Returns the key for black to move
+     * @return the key for black to move
+     */
+    public static long blackToMove() {
+        return BLACK_TO_MOVE;
+    }
+}
\ No newline at end of file
@@ -1,892 +0,0 @@
-package offlinechess;
-
-import java.io.File;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedList;
-
-/**
- * A class that represents a chess board
- * @author Jed Wang
- */
-public class ChessBoard {
-    /**
-     * The chess board
-     */
-    private AbstractPiece[][] board;
-    
-    /**
-     * Whether the player this board is facing is white
-     */
-    private boolean playerIsWhite = true; // set it during the server application
-    
-    /**
-     * The MoveRecorder
-     */
-    private MoveRecorder mr;
-    
-    /**
-     * The squares open for en passant.<br>
-     * null stands for no open squares<br>
-     * Controls en passant
-     */
-    private int enPassant = -1;
-    
-    /**
-     * A Map of all of the legal moves possible
-     */
-    private HashMap<Integer, LinkedList<Integer>> allLegalMoves;
-    
-    /**
-     * A Map of the king's position
-     */
-    private HashMap<Boolean, Integer> kingPos;
-    
-    /**
-     * Counts how many times a position repeats<br>
-     * Controls threefold repetition
-     */
-    private HashMap<String, Integer> positions;
-    
-    static {
-        initImages();
-    }
-    
-    /**
-     * Default constructor.
-     */
-    public ChessBoard() {
-        board = new AbstractPiece[8][8];
-        kingPos = new HashMap<>();
-        addPieces();
-        mr = new MoveRecorder();
-        allLegalMoves = new HashMap<>();
-        positions = new HashMap<>();
-    }
-    
-    /**
-     * Initializes the images
-     */
-    private static void initImages() {
-        try {
-            Bishop.loadImages(new File("src/images/blackBishop.png"), new File("src/images/whiteBishop.png"));
-        } catch(IOException e) {
-            System.err.println("Could not find Bishop file images");
-            System.exit(1); 
-        }
-        
-        try {
-            King.loadImages(new File("src/images/blackKing.png"), new File("src/images/whiteKing.png"));
-        } catch(IOException e) {
-            System.err.println("Could not find King file images");
-            System.exit(1); 
-        }
-        
-        try {
-            Knight.loadImages(new File("src/images/blackKnight.png"), new File("src/images/whiteKnight.png"));
-        } catch(IOException e) {
-            System.err.println("Could not find Knight file images");
-            System.exit(1); 
-        }
-        
-        try {
-            Pawn.loadImages(new File("src/images/blackPawn.png"), new File("src/images/whitePawn.png"));
-        } catch(IOException e) {
-            System.err.println("Could not find Pawn file images");
-            System.exit(1); 
-        }
-        
-        try {
-            Queen.loadImages(new File("src/images/blackQueen.png"), new File("src/images/whiteQueen.png"));
-        } catch(IOException e) {
-            System.err.println("Could not find Queen file images");
-            System.exit(1); 
-        }
-        
-        try {
-            Rook.loadImages(new File("src/images/blackRook.png"), new File("src/images/whiteRook.png"));
-        } catch(IOException e) {
-            System.err.println("Could not find Rook file images");
-            System.exit(1); 
-        }
-    }
-    
-    /**
-     * Adds the starting pieces to a chessboard.
-     */
-    private void addPieces() {
-        for(int i = 0;i<8;i++) {
-            board[i][1] = new Pawn(false);
-            board[i][6] = new Pawn(true);
-        }
-        
-        board[0][0] = new Rook(false);
-        board[1][0] = new Knight(false);
-        board[2][0] = new Bishop(false);
-        board[3][0] = new Queen(false);
-        board[4][0] = new King(false);
-        board[5][0] = new Bishop(false);
-        board[6][0] = new Knight(false);
-        board[7][0] = new Rook(false);
-        
-        board[0][7] = new Rook(true);
-        board[1][7] = new Knight(true);
-        board[2][7] = new Bishop(true);
-        board[3][7] = new Queen(true);
-        board[4][7] = new King(true);
-        board[5][7] = new Bishop(true);
-        board[6][7] = new Knight(true);
-        board[7][7] = new Rook(true);
-        
-        kingPos.put(true, 47);
-        kingPos.put(false, 40);
-    }
-    
-    /**
-     * Constructor from a previous ChessBoard
-     * @param cb the ChessBoard to duplicate
-     */
-    public ChessBoard(ChessBoard cb) {
-        this();
-        for(int i = 0; i < cb.board.length; i++) {
-            System.arraycopy(cb.board[i], 0, board[i], 0, cb.board[i].length);
-        }
-        this.enPassant = cb.enPassant;
-    }
-    
-    /**
-     * Determines which piece occupies a square
-     * @param square a square
-     * @return the piece on that square, and if none, null
-     */
-    public AbstractPiece getPiece(int square) {
-        if(isValidSquare(square)) {
-            return board[square/10][square%10];
-        } else throw new IllegalArgumentException("Invalid square");
-    }
-    
-    /**
-     * Determines which piece occupies a space represented by ABSOLUTE coordinates<br>
-     * i.e. (0, 0) represents the top left corner
-     * @param col the ABSOLUTE column
-     * @param row the ABSOLUTE row
-     * @return the piece on that square, and if none, null
-     */
-    public AbstractPiece getPiece(int col, int row) {
-        if(isValidSquare(col, row)) {
-            return board[col][row];
-        } else throw new IllegalArgumentException("Invalid square");
-    }
-    
-    /**
-     * Determines whether a square is empty
-     * @param square a square
-     * @return whether that square is empty
-     */
-    public boolean isEmptySquare(int square) {
-        return getPiece(square) == null;
-    }
-    
-    /**
-     * Determines whether a space represented by ABSOLUTE coordinates is empty
-     * @param col the ABSOLUTE column
-     * @param row the ABSOLUTE row
-     * @return whether that square is empty
-     */
-    public boolean isEmptySquare(int col, int row) {
-        return getPiece(col, row) == null;
-    }
-    
-    /**
-     * Determines the validity of the square
-     * @param s a square
-     * @return whether the square is valid
-     */
-    public static boolean isValidSquare(int s) {
-        if(s >= 0 && s <= 77) {
-            int col = s / 10, 
-                    row = s % 10;
-            return col >= 0 && col <= 7 && row >= 0 && row <= 7;
-        } else return false;
-    }
-    
-    /**
-     * Determines the validity of the square
-     * @param col the ABSOLUTE column
-     * @param row the ABSOLUTE row
-     * @return whether the square is valid
-     */
-    public static boolean isValidSquare(int col, int row) {
-        return col >= 0 && col <= 7 && row >= 0 && row <= 7;
-    }
-    
-    /**
-     * Determines which column a square is referring to<br>
-     * This method can be substituted by {@code /10} to increase speed, but it 
-     * does not check whether the square is legitimate<br>
-     * <br>
-     * The columns are ordered as such:<br>
-     * |_|_|_|_|_|_|_|_|<br>
-     * |0 1 2 3 4 5 6 7<br>
-     * |a b c d e f g h
-     * @param s a square
-     * @return which column the String is referring to
-     */
-    public static int getColumn(int s) {
-        if(isValidSquare(s)) {
-            return s / 10;
-        } else throw new IllegalArgumentException("Invalid square");
-    }
-    
-    /**
-     * Determines which row a square is referring to<br>
-     * This method can be substituted by {@code %10} to increase speed, but it 
-     * does not check whether the square is legitimate<br>
-     * <br>
-     * The rows are ordered as such:<br>
-     * ____<br>
-     * 0 |_<br>
-     * 1 |_ <br>
-     * 2 |_<br>
-     * 3 |_<br>
-     * 4 |_<br>
-     * 5 |_<br>
-     * 6 |_<br>
-     * 7 |_<br>
-     * ___W
-     * @param s the square
-     * @return the column / file
-     */
-    public static int getRow(int s) {
-        if(isValidSquare(s)) {
-            return s % 10;
-        } else throw new IllegalArgumentException("Invalid square");
-    }
-    
-    /**
-     * Determines where a square is after a shift (a.k.a. moving it left and 
-     * right, up and down)
-     * @param col current column
-     * @param row current row
-     * @param colShift how much to shift the columns
-     * @param rowShift how much to shift the rows
-     * @return the shifted square
-     */
-    public static int shiftSquare(int col, int row, int colShift, 
-            int rowShift) {
-        if(isValidSquare(col, row)) {
-            int shiftedCol = col + colShift, shiftedRow = row + rowShift;
-            if(isValidSquare(shiftedCol, shiftedRow)) {
-                return shiftedCol * 10 + shiftedRow;
-            } else throw new IllegalArgumentException("Invalid shift");
-        } else throw new IllegalArgumentException("Invalid square");
-    }
-    
-    /**
-     * Determines where a square is after a shift (a.k.a. moving it left and 
-     * right, up and down)
-     * @param s the current square
-     * @param colShift how much to shift the columns
-     * @param rowShift how much to shift the rows
-     * @return the shifted square
-     */
-    public static int shiftSquare(int s, int colShift, int rowShift) {
-        if(isValidSquare(s)) {
-            s += colShift * 10 + rowShift;
-            if(isValidSquare(s)) {
-                return s;
-            } else throw new IllegalArgumentException("Invalid shift");
-        } else throw new IllegalArgumentException("Invalid square");
-    }
-    
-    /**
-     * Checks if a shift is valid
-     * @param col current column
-     * @param row current row
-     * @param colShift how much to shift the columns
-     * @param rowShift how much to shift the rows
-     * @return whether the shift is valid
-     */
-    public static boolean isValidShift(int col, int row, int colShift, int rowShift) {
-        if(isValidSquare(col, row)) {
-            int shiftedCol = col + colShift, shiftedRow = row + rowShift;
-            return isValidSquare(shiftedCol, shiftedRow);
-        } else return false;
-    }
-    
-    /**
-     * Checks if this shift is valid
-     * @param s current square
-     * @param colShift how much to shift the columns
-     * @param rowShift how much to shift the rows
-     * @return whether the shift is valid
-     */
-    public static boolean isValidShift(int s, int colShift, int rowShift) {
-        if(isValidSquare(s)) {
-            s += colShift * 10 + rowShift;
-            return isValidSquare(s);
-        } else return false;
-    }
-    
-    /**
-     * Determines the square represented by the row and column
-     * NOTE: always column first, then row
-     * @param column the ABSOLUTE column
-     * @param row the ABSOLUTE row
-     * @return the square that is represented by the row and column
-     */
-    public static int toSquare(int column, int row) {
-        return 10 * column + row;
-    }
-    
-    /**
-     * Recalculates all of the moves on a square
-     */
-    public void recalculateMoves() {
-        allLegalMoves = new HashMap<>();
-        for(int i = 0; i < board.length; i++) {
-            for(int j = 0; j < board[i].length; j++) {
-                if(board[i][j] == null) continue;
-                if(board[i][j].isWhite == playerIsWhite) {
-                    int current = ChessBoard.toSquare(i, j);
-                    LinkedList<Integer> moves = board[i][j].legalMoves(this, current);
-                    allLegalMoves.put(current, moves);
-                }
-            }
-        }
-    }
-    
-    /**
-     * Moves a piece from fromWhere to toWhere
-     * @param fromWhere from where a piece is moved
-     * @param toWhere where to move a piece
-     */
-    public void movePiece(int fromWhere, int toWhere) {
-        movePiece(
-                fromWhere/10, 
-                fromWhere%10, 
-                toWhere/10, 
-                toWhere%10
-        );
-    }
-    
-    /**
-     * Moves a piece from fromWhere(X, Y) to toWhere(X, Y)
-     * @param fromWhereX from where a piece is moved
-     * @param fromWhereY from where a piece is moved
-     * @param toWhereX where to move a piece
-     * @param toWhereY where to move a piece
-     */
-    public void movePiece(int fromWhereX, int fromWhereY, int toWhereX, int toWhereY) {
-        if(board[fromWhereX][fromWhereY] == null) return;
-        ChessBoard thisCopy = new ChessBoard(this);
-        maybeMove(fromWhereX, fromWhereY, toWhereX, toWhereY);
-        if(board[toWhereX][toWhereY].getCharRepresentation().equals("K")) {
-            ((King)(board[toWhereX][toWhereY])).notifyOfMove();
-        }
-        enPassant = -1;
-        if(board[toWhereX][toWhereY].getCharRepresentation().equals("P")) {
-            if(Math.abs(fromWhereY-toWhereY) == 2) {
-                enPassant = fromWhereX / 10 + ((fromWhereY+toWhereY)/2);
-            }
-        }
-        int kingAt = kingPos.get(playerIsWhite);
-        ((King)(board[kingAt/10][kingAt%10])).notifyNoCheck();
-        System.out.println("Moved: " + playerIsWhite);
-        playerIsWhite = !playerIsWhite;
-        recalculateMoves();
-        updatePos(miniFEN());
-        mr.moved(thisCopy, this, ChessBoard.toSquare(fromWhereX, fromWhereY), ChessBoard.toSquare(toWhereX, toWhereY));
-        if(checkMated(playerIsWhite)) System.out.println("Checkmate!\n");
-        else if(inCheck(playerIsWhite)) {
-            ((King)(getPiece(kingPos.get(playerIsWhite)))).notifyCheck();
-            System.out.println("Check!\n");
-        } else if(isDraw(playerIsWhite)) System.out.println("Draw.\n");
-    }
-    
-    /**
-     * Used to check whether this move is legal
-     * @param fromWhere from where to move a piece
-     * @param toWhere to where to move a piece
-     */
-    public void maybeMove(int fromWhere, int toWhere) {
-        maybeMove(
-                fromWhere/10, fromWhere%10, 
-                toWhere/10, toWhere%10
-        );
-    }
-    
-    /**
-     * Used to check whether this move is legal
-     * @param fromWhereX from which column to move a piece
-     * @param fromWhereY from which row to move a piece
-     * @param toWhereX to which column to move a piece
-     * @param toWhereY to which row to move a piece
-     */
-    public void maybeMove(int fromWhereX, int fromWhereY, int toWhereX, int toWhereY) {
-        if(board[fromWhereX][fromWhereY].getCharRepresentation().equals("K")) {
-            if(Math.abs(fromWhereX-toWhereX) == 2 && fromWhereY == toWhereY) {
-                // Castling
-                if(fromWhereX < toWhereX) {
-                    // Castling Kingside
-                    board[toWhereX-1][toWhereY] = board[7][fromWhereY];
-                    board[7][fromWhereY] = null;
-                } else {
-                    // Castling Queenside
-                    board[toWhereX+1][toWhereY] = board[0][fromWhereY];
-                    board[0][fromWhereY] = null;
-                }
-            }
-        } else if((toWhereX * 10 + toWhereY) == enPassant) {
-            board[enPassant/10][enPassant%10+(fromWhereY-toWhereY)] = null;
-        }
-        
-        board[toWhereX][toWhereY] = board[fromWhereX][fromWhereY];
-        board[fromWhereX][fromWhereY] = null;
-        
-        try {
-            if (board[toWhereX][toWhereY]
-                    .getCharRepresentation()
-                    .equals("K")) {
-                kingPos.put(
-                        playerIsWhite,
-                        toSquare(toWhereX, toWhereY)
-                );
-            }
-        } catch (NullPointerException npe) {
-            System.out.println("\n\nNULLPOINTEREXCEPTION");
-            printBoard();
-            System.out.println(board[toWhereX][toWhereY]);
-            System.out.println(board[toWhereX][toWhereY].getCharRepresentation());
-        }
-    }
-    
-    /**
-     * Promotes a pawn
-     * @param fromWhere from where to promote
-     * @param toWhere to where to promote
-     * @param toWhatPiece to what piece to promote to
-     */
-    public void promotePiece(int fromWhere, int toWhere, int toWhatPiece) {
-        if(!getPiece(fromWhere).getCharRepresentation().equals("P")) 
-            assert false : "Cannot promote a non-pawn";
-        boolean isWhite = getPiece(fromWhere).isWhite;
-        ChessBoard thisCopy = new ChessBoard(this);
-        int fromWhereX = fromWhere/10, fromWhereY = fromWhere%10;
-        int toWhereX = toWhere/10, toWhereY = toWhere%10;
-        board[fromWhereX][fromWhereY] = null;
-        // board[toWhereX][toWhereY];
-        switch(toWhatPiece) {
-            case MoveRecorder.BISHOP:
-                board[toWhereX][toWhereY] = new Bishop(isWhite);
-                break;
-            case MoveRecorder.KNIGHT:
-                board[toWhereX][toWhereY] = new Knight(isWhite);
-                break;
-            case MoveRecorder.QUEEN:
-                board[toWhereX][toWhereY] = new Queen(isWhite);
-                break;
-            case MoveRecorder.ROOK:
-                board[toWhereX][toWhereY] = new Rook(isWhite);
-                break;
-            default:
-                throw new IllegalArgumentException("Unknown piece" + toWhatPiece);
-        }
-        playerIsWhite = !playerIsWhite;
-        mr.moved(thisCopy, this, fromWhere, toWhere);
-        System.out.println("Promoted from " + fromWhere + " to " + toWhere + " to a " + toWhatPiece);
-        recalculateMoves();
-        if(checkMated(playerIsWhite)) System.out.println("Checkmate!\n");
-        else if(inCheck(playerIsWhite)) System.out.println("Check!\n");
-        else if(stalemated(playerIsWhite)) System.out.println("Stalemate.\n");
-    }
-    
-    /**
-     * DO NOT USE OFTEN <br>
-     * Places a piece somewhere
-     * @param ap a piece to place
-     * @param where where to place the piece
-     * @deprecated since it is not needed
-     */
-    @Deprecated
-    public void placePiece(AbstractPiece ap, int where) {
-        placePiece(ap, where/10, where%10);
-    }
-    
-    /**
-     * DO NOT USE OFTEN <br>
-     * Places a piece somewhere
-     * @param ap a piece to place
-     * @param col the column to place the piece in
-     * @param row the row to place the piece in
-     * @deprecated since it is not needed
-     */
-    @Deprecated
-    public void placePiece(AbstractPiece ap, int col, int row) {
-        board[col][row] = ap;
-    }
-    
-    /**
-     * Determines whether one side's king is in check
-     * @param isWhite whether the side to check is white (PUN INTENDED)
-     * @return whether the side is in check
-     */
-    public boolean inCheck(boolean isWhite) {
-        for(int i = 0;i<8;i++) {
-            for(int j = 0;j<8;j++) {
-                AbstractPiece ap = getPiece(i, j);//lit dude lit
-                if(ap != null) {
-                    if(ap.isWhite ^ isWhite) {
-                        //if(ap.legalCaptures(this, ChessBoard.toSquare(i, j)).contains(kingPos))
-                        // if the current opposite-colored piece can eat the king on the next move
-                        if(ap.isAllLegalMove(this, ChessBoard.toSquare(i, j), kingPos.get(isWhite))) {
-                            return true;
-                        }
-                    }
-                }
-            }
-        }
-        return false;
-    }
-    
-    /**
-     * Determines whether the king is checkmated
-     * @param isWhite whether the side to check is white (PUN INTENDED)
-     * @return whether the side is checkmated
-     */
-    public boolean checkMated(boolean isWhite) {
-        if(inCheck(isWhite)) {
-            for(int s : allLegalMoves.keySet()) {
-                if(!allLegalMoves.get(s).isEmpty()) return false;
-            }
-            return true;
-        } else return false;
-    }
-    
-    /**
-     * Determines whether one side is stalemated
-     * @param isWhite whether the side to check is white
-     * @return whether one side is stalemated
-     */
-    public boolean stalemated(boolean isWhite) {
-        for(LinkedList<Integer> allLegalMove : allLegalMoves.values()) {
-            if(!allLegalMove.isEmpty()) return false;
-        }
-        return !inCheck(isWhite);
-    }
-    
-    /**
-     * Determines whether either side has insufficient material to checkmate
-     * @return whether either side has insufficient material to checkmate
-     */
-    public boolean insufficientMaterial() {
-        HashMap<String, Integer> pieces = new HashMap<>();
-        pieces.put("BW", 0);
-        pieces.put("BB", 0);
-        pieces.put("N", 0);
-        pieces.put("bw", 0);
-        pieces.put("bb", 0);
-        pieces.put("n", 0);
-        for(int i = 0; i < board.length; i++) {
-            for(int j = 0; j < board[i].length; j++) {
-                if(board[i][j] == null) continue;
-                if(board[i][j].getCharRepresentation().equals("K")) continue;
-                if("QRP".contains(board[i][j].getCharRepresentation())) return false;
-                String rep = board[i][j].getCharRepresentation();
-                if(board[i][j].getCharRepresentation().equals("B")) {
-                    if(isSquareWhite(i, j))
-                        rep += "W";
-                    else
-                        rep += "B";
-                }
-                if(board[i][j].getCharRepresentation().equals("N")) {
-                    String nRep = (board[i][j].isWhite)?"N":"n";
-                    if(pieces.get(nRep) == 1)
-                        return false;
-                }
-                if(!board[i][j].isWhite)
-                    rep = rep.toLowerCase();
-                try {
-                    pieces.put(rep, pieces.get(rep)+1);
-                } catch(NullPointerException npe) {
-                    throw new NullPointerException(npe.getMessage() + ": " + rep);
-                }
-            }
-        }
-        final boolean noBW = pieces.get("BW") == 0, 
-                noBB = pieces.get("BB") == 0, noN = pieces.get("N") == 0;
-        final boolean nobw = pieces.get("bw") == 0, 
-                nobb = pieces.get("bb") == 0, non = pieces.get("n") == 0;
-        final boolean whiteBare = noBW && noBB && noN;
-        final boolean blackBare = nobw && nobb && non;
-        return (whiteBare && blackBare) || 
-                (noN && non && ((noBB && nobb) || (noBW && nobw))) ||
-                (blackBare && noN && (noBW || noBB)) || 
-                (blackBare && noBB && noBW && pieces.get("N") == 1) || 
-                (whiteBare && non && (nobw || nobb)) || 
-                (whiteBare && nobb && nobw && pieces.get("n") == 1);
-    }
-    
-    /**
-     * Determines whether the current state of the game is a draw
-     * @param isWhite the side to check for stalemates
-     * @return whether the game is a draw
-     */
-    public boolean isDraw(boolean isWhite) {
-        return insufficientMaterial() || stalemated(isWhite) || mr.is50MoveDraw() || threeFoldRep();
-    }
-    
-    /**
-     * Determines whether there is threefold repetition
-     * @return whether there is threefold repetition
-     */
-    public boolean threeFoldRep() {
-        for(int value : positions.values()) {
-            if(value >= 3)
-                return true;
-        }
-        return false;
-    }
-    
-    /**
-     * Determines whether the game has been drawn by 50 move draw
-     * @return whether the game has been drawn by 50 move draw
-     */
-    public boolean is50MoveDraw() {
-        return mr.is50MoveDraw();
-    }
-    
-    /**
-     * Updates positions
-     * @param pos the position to update with
-     */
-    private void updatePos(String pos) {
-        if(positions.containsKey(pos)) {
-            positions.put(pos, positions.get(pos)+1);
-        } else {
-            positions.put(pos, 1);
-        }
-    }
-    
-    /**
-     * Determines whether a square is white
-     * @param square the square to check
-     * @return whether the square is white
-     */
-    public static boolean isSquareWhite(int square) {
-        return isSquareWhite(square/10, square%10);
-    }
-    
-    /**
-     * Determines whether a square is white
-     * @param col the column of the square to check
-     * @param row the row of the square to check
-     * @return whether the square is white
-     */
-    public static boolean isSquareWhite(int col, int row) {
-        return (col+row)%2==0;
-    }
-    
-    /**
-     * Determines where all of the pieces which fit the criteria
-     * @param whichPiece which piece, determined by the number
-     * @param isWhite whether the piece is white
-     * @return where all of the pieces are
-     */
-    public ArrayList<Integer> findAll(int whichPiece, boolean isWhite) {
-        String representation;
-        switch(whichPiece) {
-            case MoveRecorder.BISHOP:
-                representation = "B";
-                break;
-            case MoveRecorder.KING:
-                representation = "K";
-                break;
-            case MoveRecorder.KNIGHT:
-                representation = "N";
-                break;
-            case MoveRecorder.PAWN:
-                representation = "P";
-                break;
-            case MoveRecorder.QUEEN:
-                representation = "Q";
-                break;
-            case MoveRecorder.ROOK:
-                representation = "R";
-                break;
-            default:
-                throw new IllegalArgumentException("Unknown piece type: " + whichPiece);
-        }
-        ArrayList<Integer> output = new ArrayList<>();
-        for(int i = 0; i < board.length; i++) {
-            for (int j = 0; j < board[i].length; j++) {
-                if(board[i][j] == null) continue;
-                if(isWhite == board[i][j].isWhite && board[i][j].getCharRepresentation().equals(representation)) {
-                    output.add(toSquare(i, j));
-                }
-            }
-        }
-        return output;
-    }
-    
-    /**
-     * Refinds both kings.
-     */
-    public void resetKingPos() {
-        int bKing = -1, wKing = -1;
-        OUTER: for(int i = 0; i < board.length; i++) {
-            for(int j = 0; j < board[i].length; j++) {
-                if(board[i][j] == null) continue;
-                if(board[i][j].getCharRepresentation().equals("K")) {
-                    if(board[i][j].isWhite) {
-                        if(wKing == -1) {
-                            wKing = toSquare(i, j);
-                        } else {
-                            assert false : "There are two white kings?!";
-                        }
-                    } else {
-                        if(bKing == -1) {
-                            bKing = toSquare(i, j);
-                        } else {
-                            assert false : "There are two black kings?!";
-                        }
-                    }
-                    if(wKing != -1 && bKing != -1) break OUTER;
-                }
-            }
-        }
-        if(wKing == -1) assert false : "Cannot find white king";
-        if(bKing == -1) assert false : "Cannot find black king";
-        kingPos.put(true, wKing);
-        kingPos.put(false, bKing);
-    }
-    
-    /**
-     * Refinds only one king.
-     * @param isWhite whether the king to find again is white
-     */
-    public void resetKingPos(boolean isWhite) {
-        for(int i = 0; i < board.length; i++) {
-            for(int j = 0; j < board[i].length; j++) {
-                if(board[i][j] == null) continue;
-                if(board[i][j].getCharRepresentation().equals("K") && (board[i][j].isWhite == isWhite)) {
-                    kingPos.put(isWhite, toSquare(i, j));
-                    return;
-                }
-            }
-        }
-    }
-
-    /**
-     * Determines which square is open for en passant
-     * @return which square is open for en passant
-     */
-    public int getEnPassant() {
-        return enPassant;
-    }
-
-    /**
-     * Returns the current player
-     * @return the current player
-     */
-    public boolean currentPlayer() {
-        return playerIsWhite;
-    }
-
-    /**
-     * Returns the board of AbstractPieces
-     * @return the board of AbstractPieces
-     */
-    public AbstractPiece[][] getBoard() {
-        return board;
-    }
-    
-    /**
-     * Rotates a square 180 degrees.
-     * @param s the square to rotate
-     * @return the resulting square
-     */
-    public int rotateSquare180(int s) {
-        return rotateSquare180(s/10, s%10);
-    }
-    
-    /**
-     * Rotates a square 180 degrees.
-     * @param x the x position of the square to rotate
-     * @param y the y position of the square to rotate
-     * @return the resulting square
-     */
-    public int rotateSquare180(int x, int y) {
-        int output = toSquare(7-x, 7-y);
-        return (isValidSquare(output))? output : null;
-    }
-
-    /**
-     * DO NOT USE OFTEN <br>
-     * Sets this board to a new state
-     * @param board the board to set to
-     */
-    public void setBoard(AbstractPiece[][] board) {
-        this.board = new AbstractPiece[board.length][board[0].length];
-        for(int i = 0; i < board.length; i++) {
-            for(int j = 0; j < board[i].length; j++) {
-                this.board[i][j] = board[i][j];
-            }
-        }
-    }
-    
-    /**
-     * Prints the current state of the chess board.
-     */
-    public void printBoard() {
-        for(int i = 0;i<board[0].length;i++) {
-            for(int j = 0;j<board.length;j++) {
-                AbstractPiece ap = board[j][i];
-                if(ap == null) {
-                    System.out.print(" ");
-                } else if(ap.isWhite) {
-                    System.out.print(ap.getCharRepresentation());
-                } else {
-                    System.out.print(ap.getCharRepresentation().toLowerCase());
-                }
-            }
-            System.out.println();
-        }
-    }
-    
-    /**
-     * Prints all of the current moves.
-     */
-    public void printMoves() {
-        System.out.println(mr.toString());
-    }
-    
-    /**
-     * Returns a miniature of this chess board
-     * @return a miniature of this chess board
-     */
-    public String miniFEN() {
-        String output = "";
-        for(AbstractPiece[] col : board) {
-            int blanks = 0;
-            for(AbstractPiece piece : col) {
-                if(piece == null) {
-                    blanks++;
-                } else {
-                    if(blanks != 0) {
-                        output += blanks;
-                    }
-                    blanks = 0;
-                    String rep = piece.getCharRepresentation();
-                    if(piece.isWhite) 
-                        output += rep.toUpperCase(); 
-                    else 
-                        output += rep.toLowerCase();
-                }
-            }
-            output += "/";
-        }
-        return output;
-    }
-}
\ No newline at end of file
@@ -0,0 +1,141 @@
+package simplechessserver;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import offlinechess.ChessBoard;
+import offlinechess.Move;
+import offlinechess.ParallelSearch;
+import offlinechess.Search;
+import offlinechess.TranspositionTable;
+import simplechessserver.ClientCommunication.Handler;
+
+/**
+ * A player that lives on the server, for clients that would otherwise 
+ * wait for an opponent forever.<br>
+ * Bots think with a {@link Search} on a shared pool of threads, one per 
+ * core, so that many bots can play at once without a thread each. They 
+ * share one transposition table, so a position one bot has searched, 
+ * such as a common opening, is not searched again by the next. When there 
+ * are cores to spare, a bot can also think on more threads at once with a 
+ * {@link ParallelSearch}, to play stronger on a short clock.<br>
+ * How strong a bot is decides how deep and how long it may think, and it 
+ * never takes more than a thirtieth of the time left on its clock.
+ * @author Jed Wang
+ */
+public class Bot extends Handler {
+    /**
+     * The weakest a bot can be
+     */
+    public static final int MIN_STRENGTH = 1;
+    
+    /**
+     * The strongest a bot can be
+     */
+    public static final int MAX_STRENGTH = 10;
+    
+    /**
+     * The least time a bot thinks about a move, in milliseconds
+     */
+    private static final long MIN_MILLIS = 20;
+    
+    /**
+     * The threads every bot thinks on
+     */
+    private static final ExecutorService THINKERS = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), (Runnable r) -> {
+                Thread t = new Thread(r, "Bot");
+                t.setDaemon(true);
+                return t;
+            });
+    
+    /**
+     * How many plies deep this bot looks at most
+     */
+    private final int maxDepth;
+    
+    /**
+     * How long this bot thinks about a move at most, in milliseconds
+     */
+    private final long thinkMillis;
+    
+    /**
+     * The search this bot thinks with, which also keeps it from thinking 
+     * about two moves at once
+     */
+    private final ParallelSearch search;
+    
+    /**
+     * The position this bot thinks about
+     */
+    private final ChessBoard position = new ChessBoard();
+    
+    /**
+     * Creates a new bot
+     * @param strength how strong the bot is, from {@link #MIN_STRENGTH} 
+     * to {@link #MAX_STRENGTH}
+     * @param table the transposition table to think with, which other 
+     * bots may share
+     * @param threads how many threads to think on
+     */
+    public Bot(int strength, TranspositionTable table, int threads) {
+        super("Computer-" + strength);
+        if(strength < MIN_STRENGTH || strength > MAX_STRENGTH)
+            throw new IllegalArgumentException("Unknown bot strength: " + strength);
+        search = new ParallelSearch(threads, table);
+        maxDepth = 2 * strength;
+        thinkMillis = 50L * strength * strength;
+    }
+    
+    /**
+     * Reads a message from the game as a client would, thinking about a 
+     * move when it is this bot's turn
+     * @param message the message to this bot
+     */
+    @Override
+    public void send(String message) {
+        notify(message, false);
+        if(message.startsWith("STARTGAME") || message.startsWith("MOVE") || 
+                message.startsWith("PROMOTE")) {
+            THINKERS.execute(this::play);
+        } else if(message.startsWith("ENDGAME")) {
+            search.stop();
+        }
+    }
+    
+    /**
+     * Thinks about a move and makes it, if it is this bot's turn
+     */
+    private void play() {
+        Game game = getGame();
+        if(game == null) return;
+        int move;
+        synchronized(search) {
+            // an ENDGAME from here on stops the search, and one from before is seen by copyPosition
+            search.restart();
+            if(!game.copyPosition(position) || position.currentPlayer() != (getSide() == 1))
+                return;
+            double left = game.getTimeControl().getTime(position.currentPlayer());
+            long millis = Math.max(MIN_MILLIS, Math.min(thinkMillis, (long) (left * 1000 / 30)));
+            move = search.search(position, maxDepth, millis);
+        }
+        if(move == 0) return;
+        
+        int fromWhere = Move.fromSquare(move), toWhere = Move.toSquare(move), 
+                toWhatPiece = Move.promotion(move);
+        String line, message;
+        try {
+            if(toWhatPiece == 0) {
+                message = game.movePiece(this, fromWhere, toWhere);
+                line = "MOVE" + fromWhere + " " + toWhere;
+            } else {
+                message = game.promotePiece(this, fromWhere, toWhere, toWhatPiece);
+                line = "PROMOTE" + fromWhere + " " + toWhere + " " + toWhatPiece;
+            }
+        } catch(IllegalArgumentException iae) {
+            // the game ended while this bot was thinking
+            return;
+        }
+        game.getOpponent(this).send(line);
+        if(message != null) game.end(message);
+    }
+}
\ No newline at end of file
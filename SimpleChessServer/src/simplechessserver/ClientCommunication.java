@@ -7,14 +7,13 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.net.Socket;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
-import java.util.List;
 import java.util.Queue;
-import offlinechess.ChessBoard;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import offlinechess.TranspositionTable;
 
 /**
  * A server to client communication
@@ -40,15 +39,97 @@ public class ClientCommunication {
     private static Queue<Handler> unmatched = new LinkedList<>();
     
     /**
-     * A map of all of the matches that are currently being played 
-     * out. The int is for indexing the matches.
+     * The lock for synchronization for matchmaking.
      */
-    private static HashMap<Integer, Handler> matchedHandlers = new HashMap<>();
+    private static final Object MATCH_LOCK = new Object();
     
     /**
-     * The lock for synchronization for matchmaking.
+     * How strong the bot is that a client who has waited too long for an 
+     * opponent plays, and if there is no such bot, 0
      */
-    private static final Object MATCH_LOCK = new Object();
+    private static volatile int botStrength = 0;
+    
+    /**
+     * How long a client waits for an opponent before playing a bot, 
+     * in milliseconds
+     */
+    private static volatile long botWait = 0;
+    
+    /**
+     * The transposition table every bot shares
+     */
+    private static volatile TranspositionTable botTable = null;
+    
+    /**
+     * How many threads each bot thinks on
+     */
+    private static volatile int botThreads = 1;
+    
+    /**
+     * Hands clients who have waited too long over to bots
+     */
+    private static final ScheduledExecutorService BOT_MATCHER = 
+            Executors.newSingleThreadScheduledExecutor((Runnable r) -> {
+                Thread t = new Thread(r, "Bot matchmaking");
+                t.setDaemon(true);
+                return t;
+            });
+    
+    /**
+     * Has clients who wait too long for an opponent play a bot instead
+     * @param strength how strong the bot is, from {@link Bot#MIN_STRENGTH} 
+     * to {@link Bot#MAX_STRENGTH}, or 0 for no bots
+     * @param millis how long a client waits for a human opponent first, 
+     * in milliseconds
+     * @param megabytes how big the transposition table the bots share is, 
+     * in megabytes
+     * @param threads how many threads each bot thinks on
+     */
+    public static void setBots(int strength, long millis, int megabytes, int threads) {
+        if(strength != 0 && (strength < Bot.MIN_STRENGTH || strength > Bot.MAX_STRENGTH)) 
+            throw new IllegalArgumentException("Unknown bot strength: " + strength);
+        if(millis < 0) throw new IllegalArgumentException("Negative wait: " + millis);
+        if(threads < 1) throw new IllegalArgumentException("Cannot think on " + threads + " threads");
+        botTable = (strength == 0)?null:new TranspositionTable(megabytes);
+        botThreads = threads;
+        botWait = millis;
+        botStrength = strength;
+    }
+    
+    /**
+     * Starts a game between two clients, each on a random side.<br>
+     * Only called while holding the MATCH_LOCK.
+     * @param one one of the clients
+     * @param two the other client
+     */
+    private static void startGame(Handler one, Handler two) {
+        Game newGame = (Math.random() < 0.5)? 
+                new Game(one, two):new Game(two, one);
+        one.joinGame(newGame);
+        two.joinGame(newGame);
+        // STARTGAMEside name
+        one.send("STARTGAME" + (one.side == 1) + " " + two.name);
+        two.send("STARTGAME" + (two.side == 1) + " " + one.name);
+        newGame.start();
+    }
+    
+    /**
+     * Pairs a client with a bot if nobody else has come to play by the 
+     * time it has waited long enough.<br>
+     * Only called while holding the MATCH_LOCK.
+     * @param h the client that is waiting
+     */
+    private static void scheduleBot(Handler h) {
+        int strength = botStrength;
+        TranspositionTable table = botTable;
+        int threads = botThreads;
+        if(strength == 0) return;
+        BOT_MATCHER.schedule(() -> {
+            synchronized(MATCH_LOCK) {
+                if(unmatched.remove(h)) startGame(h, new Bot(strength, table, threads));
+            }
+        }, botWait, TimeUnit.MILLISECONDS);
+    }
     
     /**
      * A handler thread class.  Handlers are spawned from the listening
@@ -77,19 +158,9 @@ public class ClientCommunication {
         private PrintWriter out;
         
         /**
-         * This instance's chess board.
-         */
-        private ChessBoard cb;
-        
-        /**
-         * This instance's time control.
-         */
-        private TimeControl tc;
-        
-        /**
-         * The opponent's ID
+         * The game this client is playing, shared with the opponent
          */
-        private int opponentID = -1;
+        private volatile Game game = null;
         
         /**
          * Which side this client is on in a game
@@ -113,8 +184,17 @@ public class ClientCommunication {
          */
         public Handler(Socket socket) {
             this.socket = socket;
-            cb = new ChessBoard();
-            cb.recalculateMoves();
+        }
+        
+        /**
+         * Constructs a player that lives on the server, without a socket. 
+         * It is never started: it gets its messages through 
+         * {@link #send(String)}.
+         * @param name the player's name
+         */
+        protected Handler(String name) {
+            this.socket = null;
+            this.name = name;
         }
         
         /**
@@ -167,97 +247,48 @@ public class ClientCommunication {
                     }
                     // handle input
                     String message = null;
+                    Game current = game;
                     if(line.startsWith("NEWOPPONENT")) {
-                        if(unmatched.contains(this)) continue;
-                        unmatched.add(this);
-                        if(unmatched.size() >= 2) {
-                            synchronized(MATCH_LOCK) {
-                                Handler one = unmatched.remove(), two = unmatched.remove();
-                                int iD = matchedHandlers.size();
-                                matchedHandlers.put(iD, one);
-                                one.opponentID = iD + 1;
-                                matchedHandlers.put(iD+1, two);
-                                two.opponentID = iD;
-                                // STARTGAMEside name
-                                one.tc = new TimeControl();
-                                two.tc = new TimeControl();
-                                one.tc.addActionListener((ActionEvent e) -> {
-                                    String message1 = e.getActionCommand();
-                                    boolean lost = Boolean.parseBoolean(message1.substring(7));
-                                    String sideWon = lost?"-1":"1";
-                                    one.endGame("ENDGAME" + sideWon + " time");
-                                });
-                                two.tc.addActionListener((ActionEvent e) -> {
-                                    String message1 = e.getActionCommand();
-                                    boolean lost = Boolean.parseBoolean(message1.substring(7));
-                                    String sideWon = lost?"-1":"1";
-                                    two.endGame("ENDGAME" + sideWon + " time");
-                                });
-                                if(Math.random() < 0.5) {
-                                    one.out.println("STARTGAMEtrue " + two.name);
-                                    one.notify("STARTGAMEtrue " + two.name, false);
-                                    one.side = 1;
-                                    two.out.println("STARTGAMEfalse " + one.name);
-                                    two.notify("STARTGAMEfalse " + one.name, false);
-                                    two.side = -1;
-                                } else {
-                                    one.out.println("STARTGAMEfalse " + two.name);
-                                    one.notify("STARTGAMEfalse " + two.name, false);
-                                    one.side = -1;
-                                    two.out.println("STARTGAMEtrue " + one.name);
-                                    two.notify("STARTGAMEtrue " + one.name, false);
-                                    two.side = 1;
-                                }
-                                one.tc.start();
-                                two.tc.start();
-                                one.cb.recalculateMoves();
-                                two.cb.recalculateMoves();
-                            }
+                        synchronized(MATCH_LOCK) {
+                            if(unmatched.contains(this)) continue;
+                            unmatched.add(this);
+                            if(unmatched.size() >= 2) {
+                                startGame(unmatched.remove(), unmatched.remove());
+                            } else scheduleBot(this);
                         }
-                    } else if(line.startsWith("MOVE") && opponentID != -1) {
+                    } else if(line.startsWith("MOVE") && current != null) {
                         String[] data = line.substring(4).split(" ");
-                        cb.movePiece(Integer.parseInt(data[0]), 
-                                Integer.parseInt(data[1]));
-                        Handler opponent = matchedHandlers.get(opponentID);
-                        tc.hit();
-                        opponent.tc.hit();
-                        opponent.cb.movePiece(Integer.parseInt(data[0]), 
-                                Integer.parseInt(data[1]));
-                        opponent.out.println(line);
-                        opponent.notify(line, false);
-                    } else if(line.startsWith("PROMOTE") && opponentID != -1) {
+                        try {
+                            if(data.length != 2) 
+                                throw new IllegalArgumentException("Malformed move");
+                            message = current.movePiece(this, 
+                                    Integer.parseInt(data[0]), 
+                                    Integer.parseInt(data[1]));
+                            current.getOpponent(this).send(line);
+                        } catch(IllegalArgumentException iae) {
+                            // also catches unreadable numbers
+                            send("ILLEGAL" + line);
+                        }
+                    } else if(line.startsWith("PROMOTE") && current != null) {
                         String[] data = line.substring(7).split(" ");
-                        cb.promotePiece(Integer.parseInt(data[0]), 
-                                Integer.parseInt(data[1]), Integer.parseInt(data[2]));
-                        Handler opponent = matchedHandlers.get(opponentID);
-                        tc.hit();
-                        opponent.tc.hit();
-                        opponent.cb.promotePiece(Integer.parseInt(data[0]), 
-                                Integer.parseInt(data[1]), Integer.parseInt(data[2]));
-                        opponent.out.println(line);
-                        opponent.notify(line, false);
+                        try {
+                            if(data.length != 3) 
+                                throw new IllegalArgumentException("Malformed promotion");
+                            message = current.promotePiece(this, 
+                                    Integer.parseInt(data[0]), 
+                                    Integer.parseInt(data[1]), 
+                                    Integer.parseInt(data[2]));
+                            current.getOpponent(this).send(line);
+                        } catch(IllegalArgumentException iae) {
+                            send("ILLEGAL" + line);
+                        }
                     } else if(line.startsWith("PING")) {
                         out.println("PING");
                         notify("PING", false);
                     }
                     //message = "ENDGAME0 aborted"
-                    if(cb.insufficientMaterial()){
-                        message = "ENDGAME0 insufficient_material";
-                    } else if(cb.is50MoveDraw()) {
-                        message = "ENDGAME0 50_move_draw";
-                    } else if(cb.stalemated(cb.currentPlayer())) {
-                        message = "ENDGAME0 stalemate";
-                        System.out.println(cb.stalemated(!cb.currentPlayer()));
-                        System.out.println(cb.stalemated(cb.currentPlayer()));
-                    } else if(cb.threeFoldRep()) {
-                        message = "ENDGAME0 3-fold_repetition";
-                    } else if(cb.checkMated(true)) {
-                        message = "ENDGAME-1 checkmate";
-                    } else if(cb.checkMated(false)) {
-                        message = "ENDGAME1 checkmate";
-                    }
-                    if(message != null && opponentID != -1) {
-                        endGame(message);
+                    if(message != null) {
+                        current.end(message);
                     }
                 }
             } catch (IOException e) {
@@ -265,31 +296,19 @@ public class ClientCommunication {
             } finally {
                 // This client is going down!  Remove its name and its print
                 // writer from the sets, and close its socket.
-                String message = "ENDGAME" + -side + " resignation";
-                Handler opponent = matchedHandlers.get(opponentID);
-                if(opponent != null) {
-                    opponent.out.println(message);
-                    opponent.notify(message, false);
-                    opponent.tc.stop();
-                    opponent.reset();
+                Game current = game;
+                if(current != null) {
+                    current.resign(this);
                 }
                 if(mainWindow != null) {
                     mainWindow.removeHandler(this);
                 }
-                if(tc != null) {
-                    tc.stop();
-                }
                 if(name != null) {
                     names.remove(name);
                 }
-                if(unmatched.contains(this)) {
+                synchronized(MATCH_LOCK) {
                     unmatched.remove(this);
                 }
-                if(matchedHandlers.containsValue(this)) {
-                    List<Handler> temp = new ArrayList<>(matchedHandlers.values());
-                    Collections.sort(temp);
-                    matchedHandlers.remove(Collections.binarySearch(temp, this));
-                }
                 out.close();
                 try {
                     in.close();
@@ -318,30 +337,35 @@ public class ClientCommunication {
         }
         
         /**
-         * Ends the current game and releases this client to play another game.
-         * @param message the message to broadcast to both players
+         * Sends a message to this client
+         * @param message the message to send
          */
-        public void endGame(String message) {
-            Handler opponent = matchedHandlers.get(opponentID);
-            if(opponent != null) {
-                opponent.out.println(message);
-                opponent.notify(message, false);
-            }
+        public void send(String message) {
             out.println(message);
             notify(message, false);
-            if(opponent != null) opponent.reset();
-            reset();
         }
         
         /**
-         * Resets the variables to default values
+         * Puts this client into a game
+         * @param g the game to join
          */
-        public void reset() {
-            tc.stop();
-            matchedHandlers.remove(opponentID);
-            opponentID = -1;
-            side = 0;
-            cb = new ChessBoard();
+        private void joinGame(Game g) {
+            side = g.getSide(this);
+            game = g;
+        }
+        
+        /**
+         * Releases this client from a game that has ended, so it can play 
+         * another game.
+         * @param g the game that has ended
+         * @param message the message to send to this client, or null for none
+         */
+        void leaveGame(Game g, String message) {
+            if(message != null) send(message);
+            if(game == g) {
+                game = null;
+                side = 0;
+            }
         }
         
         /**
@@ -400,27 +424,20 @@ public class ClientCommunication {
          * @return the opponent's name, or null if this user is unpaired.
          */
         public String getOpponentName() {
-            if(opponentID == -1) {
+            Game current = game;
+            if(current == null) {
                 return null;
             } else {
-                return matchedHandlers.get(opponentID).name;
+                return current.getOpponent(this).name;
             }
         }
 
         /**
-         * Returns this Handler's virtual chess board
-         * @return this Handler's chess board
-         */
-        public ChessBoard getChessBoard() {
-            return cb;
-        }
-        
-        /**
-         * Returns this Handler's virtual chess clock
-         * @return this Handler's TimeControl
+         * Returns the game this client is playing, if any.
+         * @return the game this client is playing, or null if unpaired.
          */
-        public TimeControl getTimeControl() {
-            return tc;
+        public Game getGame() {
+            return game;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,203 @@
+package simplechessserver;
+
+import java.awt.event.ActionEvent;
+import offlinechess.ChessBoard;
+import simplechessserver.ClientCommunication.Handler;
+
+/**
+ * A game between two clients.<br>
+ * Both Handlers of a match share one Game, so there is exactly one board
+ * (and with it one record of the moves) and one clock per match, and every
+ * move is made once.
+ * @author Jed Wang
+ */
+public class Game {
+    /**
+     * The players
+     */
+    private final Handler white, black;
+
+    /**
+     * The chess board
+     */
+    private final ChessBoard cb;
+
+    /**
+     * The chess clock
+     */
+    private final TimeControl tc;
+
+    /**
+     * Whether this game has ended
+     */
+    private boolean over = false;
+
+    /**
+     * Creates a new game
+     * @param white the client playing white
+     * @param black the client playing black
+     */
+    public Game(Handler white, Handler black) {
+        this.white = white;
+        this.black = black;
+        cb = new ChessBoard();
+        cb.recalculateMoves();
+        tc = new TimeControl();
+        tc.addActionListener((ActionEvent e) -> {
+            boolean lost = Boolean.parseBoolean(e.getActionCommand().substring(7));
+            end("ENDGAME" + ((lost)?"-1":"1") + " time");
+        });
+    }
+
+    /**
+     * Starts the clock
+     */
+    public void start() {
+        tc.start();
+    }
+
+    /**
+     * Determines whether it is a client's turn to move
+     * @param h one of the clients in this game
+     * @return whether that client is to move
+     */
+    private boolean isTurn(Handler h) {
+        return !over && cb.currentPlayer() == (h == white);
+    }
+
+    /**
+     * Moves a piece and hits the clock
+     * @param mover the client making the move
+     * @param fromWhere from where a piece is moved
+     * @param toWhere where to move a piece
+     * @return the message that ends the game, or null if it goes on
+     * @throws IllegalArgumentException if the move is not legal for the 
+     * client, in which case nothing changes
+     */
+    public synchronized String movePiece(Handler mover, int fromWhere, int toWhere) {
+        if(!isTurn(mover) || !cb.isLegalMove(fromWhere, toWhere)) 
+            throw new IllegalArgumentException("Illegal move: " + fromWhere + " " + toWhere);
+        cb.movePiece(fromWhere, toWhere);
+        tc.hit();
+        return endMessage();
+    }
+
+    /**
+     * Promotes a pawn and hits the clock
+     * @param mover the client making the promotion
+     * @param fromWhere from where to promote
+     * @param toWhere to where to promote
+     * @param toWhatPiece to what piece to promote to
+     * @return the message that ends the game, or null if it goes on
+     * @throws IllegalArgumentException if the promotion is not legal for 
+     * the client, in which case nothing changes
+     */
+    public synchronized String promotePiece(Handler mover, int fromWhere, int toWhere, int toWhatPiece) {
+        if(!isTurn(mover) || !cb.isLegalPromotion(fromWhere, toWhere, toWhatPiece)) 
+            throw new IllegalArgumentException("Illegal promotion: " + 
+                    fromWhere + " " + toWhere + " " + toWhatPiece);
+        cb.promotePiece(fromWhere, toWhere, toWhatPiece);
+        tc.hit();
+        return endMessage();
+    }
+
+    /**
+     * Copies the position, along with the positions that can still repeat, 
+     * so that a client can think about its move without holding up the game
+     * @param into the board to copy the position onto
+     * @return whether the game is still going on
+     */
+    synchronized boolean copyPosition(ChessBoard into) {
+        into.copyFrom(cb, true);
+        return !over;
+    }
+
+    /**
+     * Determines the message to end the game with, if the game is over
+     * @return the ENDGAME message, or null if the game goes on
+     */
+    private String endMessage() {
+        switch(cb.gameStatus()) {
+            case INSUFFICIENT_MATERIAL:
+                return "ENDGAME0 insufficient_material";
+            case FIFTY_MOVE_DRAW:
+                return "ENDGAME0 50_move_draw";
+            case STALEMATE:
+                return "ENDGAME0 stalemate";
+            case THREEFOLD_REPETITION:
+                return "ENDGAME0 3-fold_repetition";
+            case BLACK_CHECKMATES:
+                return "ENDGAME-1 checkmate";
+            case WHITE_CHECKMATES:
+                return "ENDGAME1 checkmate";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Marks this game as over and stops the clock
+     * @return whether the game was still going on
+     */
+    private synchronized boolean finish() {
+        if(over) return false;
+        over = true;
+        tc.stop();
+        return true;
+    }
+
+    /**
+     * Ends the game and releases both clients to play another game.
+     * @param message the message to broadcast to both players
+     */
+    public void end(String message) {
+        if(!finish()) return;
+        white.leaveGame(this, message);
+        black.leaveGame(this, message);
+    }
+
+    /**
+     * Ends the game because one of the clients left it
+     * @param quitter the client that left
+     */
+    public void resign(Handler quitter) {
+        if(!finish()) return;
+        getOpponent(quitter).leaveGame(this,
+                "ENDGAME" + -getSide(quitter) + " resignation");
+        quitter.leaveGame(this, null);
+    }
+
+    /**
+     * Returns the opponent of a client in this game
+     * @param h one of the clients in this game
+     * @return the other client
+     */
+    public Handler getOpponent(Handler h) {
+        return (h == white)?black:white;
+    }
+
+    /**
+     * Returns which side a client plays
+     * @param h one of the clients in this game
+     * @return 1 for white, -1 for black
+     */
+    public int getSide(Handler h) {
+        return (h == white)?1:-1;
+    }
+
+    /**
+     * Returns this game's chess board
+     * @return this game's chess board
+     */
+    public ChessBoard getChessBoard() {
+        return cb;
+    }
+
+    /**
+     * Returns this game's chess clock
+     * @return this game's TimeControl
+     */
+    public TimeControl getTimeControl() {
+        return tc;
+    }
+}
\ No newline at end of file
@@ -331,7 +331,8 @@ public class MainWindow extends JFrame {
                         g2D.drawString("Open log window", 22.5f, 
                                 y0+QUICK_INFO_HEIGHT+extraSpace-17.5f);
                         
-                        if(h.getSide() != 0) {
+                        Game game = h.getGame();
+                        if(game != null) {
                             final int SQ = 20;
                             int baseY = y0+QUICK_INFO_HEIGHT+10, 
                                     baseX = getWidth() - 8*SQ - 10;
@@ -346,16 +347,16 @@ public class MainWindow extends JFrame {
                                 }
                             }
                             
-                            AbstractPiece[][] board = h.getChessBoard().getBoard();
+                            AbstractPiece[][] board = game.getChessBoard().getBoard();
                             for(int r = 0; r < board.length; r++) {
                                 for(int c = 0; c < board[r].length; c++) {
                                     if(board[r][c] == null) continue;
-                                    board[r][c].draw(g2D, 20*r+baseX, 
-                                            20*c+baseY, 20, 20);
+                                    PieceImages.draw(g2D, board[r][c], 
+                                            20*r+baseX, 20*c+baseY, 20, 20);
                                 }
                             }
                             
-                            TimeControl tc = h.getTimeControl();
+                            TimeControl tc = game.getTimeControl();
                             g2D.setFont(fonts[1]);
                             g2D.setColor(Color.BLACK);
                             g2D.drawString(tc.toString(), baseX, baseY+8*SQ+25);
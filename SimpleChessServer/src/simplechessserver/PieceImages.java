@@ -0,0 +1,117 @@
+package simplechessserver;
+
+import java.awt.Graphics;
+import java.awt.GraphicsEnvironment;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+import java.util.stream.IntStream;
+import javax.imageio.ImageIO;
+import offlinechess.AbstractPiece;
+
+/**
+ * The images of the pieces, used to draw the boards on the MainWindow.<br>
+ * The rules engine does not know what a piece looks like; everything about
+ * drawing one lives here. Nothing is read until a piece is first drawn, and
+ * nothing is read at all on a headless server.
+ * @author Jed Wang
+ */
+public final class PieceImages {
+    /**
+     * The names of the pieces, by the piece constants in
+     * {@link offlinechess.MoveRecorder}
+     */
+    private static final String[] NAMES = {
+        "Pawn", "Knight", "Bishop", "Rook", "Queen", "King"
+    };
+
+    /**
+     * The images, white pieces 0-5 and black 6-11.<br>
+     * Not loaded until they are first needed.
+     */
+    private static volatile BufferedImage[] images = null;
+
+    /**
+     * No instances
+     */
+    private PieceImages() {
+    }
+
+    /**
+     * Returns the images, loading them if they have not been yet
+     * @return the images, or null if there is no screen to draw them on
+     */
+    private static BufferedImage[] images() {
+        BufferedImage[] loaded = images;
+        if(loaded == null) {
+            if(GraphicsEnvironment.isHeadless()) return null;
+            synchronized(PieceImages.class) {
+                loaded = images;
+                if(loaded == null) {
+                    loaded = load();
+                    images = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Reads all of the images from the classpath, in parallel
+     * @return the images, white pieces 0-5 and black 6-11
+     */
+    private static BufferedImage[] load() {
+        // the images are tiny; caching them on disk costs more than it saves
+        ImageIO.setUseCache(false);
+        BufferedImage[] loaded = new BufferedImage[12];
+        IntStream.range(0, loaded.length).parallel().forEach(i ->
+                loaded[i] = read(((i < 6)?"white":"black") + NAMES[i % 6]));
+        return loaded;
+    }
+
+    /**
+     * Reads one image from the classpath
+     * @param name the name of the image, without the extension
+     * @return the image, or null if it cannot be read
+     */
+    private static BufferedImage read(String name) {
+        URL url = PieceImages.class.getResource("/images/" + name + ".png");
+        if(url == null) {
+            System.err.println("Could not find " + name + " image");
+            return null;
+        }
+        try {
+            return ImageIO.read(url);
+        } catch(IOException e) {
+            System.err.println("Could not read " + name + " image");
+            return null;
+        }
+    }
+
+    /**
+     * Returns the image of a piece
+     * @param whichPiece which piece, determined by the number
+     * @param isWhite whether the piece is white
+     * @return the image of that piece, or null if there is none
+     */
+    public static BufferedImage getImage(int whichPiece, boolean isWhite) {
+        BufferedImage[] loaded = images();
+        if(loaded == null) return null;
+        return loaded[(isWhite)?whichPiece:whichPiece + 6];
+    }
+
+    /**
+     * Draws a piece
+     * @param g the Graphics to draw on
+     * @param ap the piece to draw
+     * @param x the X coordinate of the image
+     * @param y the Y coordinate of the image
+     * @param width the width of the picture
+     * @param height the height of the picture
+     */
+    public static void draw(Graphics g, AbstractPiece ap,
+            int x, int y, int width, int height) {
+        BufferedImage image = getImage(ap.getPieceType(), ap.isWhite);
+        if(image != null) g.drawImage(image, x, y, width, height, null);
+    }
+}
\ No newline at end of file
@@ -1,9 +1,11 @@
 package simplechessserver;
 
+import java.awt.GraphicsEnvironment;
 import java.io.IOException;
 import java.net.BindException;
 import java.net.ServerSocket;
 import javax.swing.JOptionPane;
+import offlinechess.Attacks;
 import simplechessserver.ClientCommunication.Handler;
 
 /**
@@ -11,28 +13,113 @@ import simplechessserver.ClientCommunication.Handler;
  * @author Jed Wang
  */
 public class SimpleChessServerMain {
+    /**
+     * How strong the bots are if not given, which is no bots at all, so 
+     * that clients only ever play bots on a server started with them
+     */
+    private static final int DEFAULT_BOT_STRENGTH = 0;
+    
+    /**
+     * How many seconds a client waits for a human opponent before playing 
+     * a bot, if not given
+     */
+    private static final int DEFAULT_BOT_WAIT = 30;
+    
+    /**
+     * How big the transposition table of the bots is, in megabytes, 
+     * if not given
+     */
+    private static final int DEFAULT_BOT_TABLE = 64;
+    
+    /**
+     * How many threads each bot thinks on, if not given
+     */
+    private static final int DEFAULT_BOT_THREADS = 1;
+    
+    /**
+     * The most threads a bot may think on
+     */
+    private static final int MAX_BOT_THREADS = 256;
+    
+    /**
+     * How to start the server
+     */
+    private static final String USAGE = "Usage: SimpleChessServerMain " + 
+            "[bot strength] [wait seconds] [table megabytes] [bot threads]";
+    
     /**
      * The Main Method
-     * @param args the command line arguments
+     * @param args optionally how strong the bots are, from 
+     * {@link Bot#MIN_STRENGTH} to {@link Bot#MAX_STRENGTH}, or 0 or left 
+     * out for no bots, how many seconds a client waits for a human 
+     * opponent first, how many megabytes the bots may share to remember 
+     * positions, and how many threads each bot thinks on
      * @throws java.io.IOException if something goes wrong
      */
     public static void main(String[] args) throws IOException {
+        if(args.length > 4) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        int strength = readArgument(args, 0, "bot strength", DEFAULT_BOT_STRENGTH, 0, Bot.MAX_STRENGTH);
+        int wait = readArgument(args, 1, "wait", DEFAULT_BOT_WAIT, 1, Integer.MAX_VALUE);
+        int megabytes = readArgument(args, 2, "table size", DEFAULT_BOT_TABLE, 1, 8192);
+        int threads = readArgument(args, 3, "bot threads", DEFAULT_BOT_THREADS, 1, MAX_BOT_THREADS);
+        
         System.out.println("The chess server is running.");
+        System.out.println("Attack tables built in " + 
+                (Attacks.getInitNanos() / 1000000.0) + " ms.");
+        ClientCommunication.setBots(strength, wait * 1000L, megabytes, threads);
+        if(strength != 0) 
+            System.out.println("Bots of strength " + strength + " play after " + 
+                    wait + " s.");
         
-        MainWindow mw = new MainWindow();
-        Handler.setMainWindow(mw);
+        // without a screen, run as a plain server and skip the window
+        MainWindow mw = null;
+        if(!GraphicsEnvironment.isHeadless()) {
+            mw = new MainWindow();
+            Handler.setMainWindow(mw);
+        }
         
         try(ServerSocket listener = new ServerSocket(ClientCommunication.PORT)) {
             while(true) {
                 Handler h = new Handler(listener.accept());
                 h.start();
-                mw.addHandler(h);
+                if(mw != null) mw.addHandler(h);
             }
         } catch(BindException be) {
             System.err.println("Cannot start server: " + be.getMessage());
-            JOptionPane.showMessageDialog(mw, "Cannot start server", 
-                    be.getMessage(), JOptionPane.ERROR_MESSAGE);
+            if(mw != null) 
+                JOptionPane.showMessageDialog(mw, "Cannot start server", 
+                        be.getMessage(), JOptionPane.ERROR_MESSAGE);
             System.exit(1);
         }
     }
+    
+    /**
+     * Reads one of the bot settings from the command line, and if it is 
+     * not a whole number in range, says how to start the server and quits
+     * @param args the arguments the server was started with
+     * @param i which argument to read
+     * @param name what the argument is, to name it if it is wrong
+     * @param otherwise what the setting is if the argument is left out
+     * @param min the smallest value allowed
+     * @param max the largest value allowed
+     * @return the setting
+     */
+    private static int readArgument(String[] args, int i, String name, 
+            int otherwise, int min, int max) {
+        if(args.length <= i) return otherwise;
+        try {
+            int output = Integer.parseInt(args[i]);
+            if(output >= min && output <= max) return output;
+        } catch(NumberFormatException nfe) {
+            // not a number; said below
+        }
+        System.err.println("Bad " + name + ": " + args[i] + ", expected " + 
+                ((max == Integer.MAX_VALUE)?"at least " + min:min + " to " + max));
+        System.err.println(USAGE);
+        System.exit(2);
+        return otherwise;
+    }
 }
@@ -190,6 +190,23 @@ public class TimeControl implements Runnable {
         return toString(true) + "|" + toString(false);
     }
     
+    /**
+     * Returns how much time one side has left, not counting grace time
+     * @param whichSide which side to get time
+     * @return the time left, in seconds
+     */
+    public double getTime(boolean whichSide) {
+        if(whichSide) {
+            synchronized(WHITE_LOCK) {
+                return whiteTime;
+            }
+        } else {
+            synchronized(BLACK_LOCK) {
+                return blackTime;
+            }
+        }
+    }
+    
     /**
      * Constructs a String that represents the current time state of the given player.
      * @param whichSide which side to get time